@@ -0,0 +1,208 @@
+package com.acm.auth.client;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.acm.auth.token.InMemoryRevocationView;
+import com.acm.auth.token.TokenVerificationException;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.auth.token.VerifiedToken;
+
+/**
+ * Verifies auth-service access tokens inside a resource service, replacing
+ * calls to {@code /api/v1/auth/introspect}.
+ *
+ * Tokens are checked with the same {@link TokenVerifier} the auth service
+ * uses, so signature, lifetime and revocation rules cannot drift. A verified
+ * token is cached until its {@code exp}; a cache hit still consults the
+ * local revocation set, so a logout picked up by the {@link RevocationFeed}
+ * takes effect on the next request, not when the cache entry ages out.
+ *
+ * Revocations lag the auth service by at most one poll interval, or arrive
+ * as they happen with a {@link RevocationStreamSubscriber}. Without either,
+ * only {@link #revoke(String, Instant)} updates the set.
+ */
+public final class AuthTokenClient implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenClient.class);
+
+    private final TokenVerifier verifier;
+    private final InMemoryRevocationView revocations;
+    private final VerificationCache cache;
+    private final RevocationFeed revocationFeed;
+    private final Duration pollInterval;
+    private final Clock clock;
+    private final ScheduledExecutorService poller;
+
+    private AuthTokenClient(Builder builder) {
+        this.clock = builder.clock;
+        this.revocations = new InMemoryRevocationView();
+        // Resource services only see access tokens, so the refresh window is never used
+        this.verifier = new TokenVerifier(builder.signerKey, Duration.ZERO, revocations, clock);
+        this.cache = new VerificationCache(builder.maxCachedTokens);
+        this.revocationFeed = builder.revocationFeed;
+        this.pollInterval = builder.revocationPollInterval;
+        this.poller = revocationFeed != null
+                ? Executors.newSingleThreadScheduledExecutor(builder.threadFactory)
+                : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Loads the revocation set and keeps polling the feed in the background.
+     * Does nothing when no feed is configured.
+     */
+    public void start() {
+        if (poller != null) {
+            poller.scheduleWithFixedDelay(this::syncRevocations, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Verifies an access token, from cache when it was accepted before.
+     */
+    public VerifiedToken verify(String token) throws TokenVerificationException {
+        long nowMillis = clock.millis();
+        VerifiedToken cached = cache.get(token, nowMillis);
+        if (cached != null) {
+            String jwtId = cached.jwtId();
+            if (jwtId != null && revocations.isRevoked(jwtId)) {
+                throw new TokenVerificationException(TokenVerificationException.Reason.REVOKED);
+            }
+            return cached;
+        }
+        VerifiedToken verified = verifier.verify(token);
+        cache.put(token, verified, nowMillis);
+        return verified;
+    }
+
+    /**
+     * The local equivalent of the auth service's introspect endpoint.
+     */
+    public boolean isValid(String token) {
+        try {
+            verify(token);
+            return true;
+        } catch (TokenVerificationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Marks a token id as revoked locally, e.g. from a push notification.
+     */
+    public void revoke(String jwtId, Instant expiresAt) {
+        revocations.revoke(jwtId, expiresAt);
+    }
+
+    /**
+     * Fetches a fresh revocation snapshot now. Called by the background poller
+     * and on a revocation stream reset; does nothing without a feed.
+     */
+    public void syncRevocations() {
+        if (revocationFeed == null) {
+            return;
+        }
+        Instant now = clock.instant();
+        try {
+            // Revocations pushed while the snapshot is fetched must survive the replace
+            long fetchedFrom = revocations.revision();
+            Map<String, Instant> snapshot = revocationFeed.fetchActive(now);
+            revocations.replaceAll(snapshot, fetchedFrom);
+            log.debug("Revocation set synced: {} active entries", snapshot.size());
+        } catch (Exception e) {
+            // Keep the previous set; expired entries still age out
+            int pruned = revocations.pruneExpired(now);
+            log.warn("Revocation sync failed, keeping {} entries ({} pruned): {}", revocations.size(), pruned,
+                    e.getMessage());
+        }
+    }
+
+    int cachedTokens() {
+        return cache.size();
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    public static final class Builder {
+
+        private byte[] signerKey;
+        private RevocationFeed revocationFeed;
+        private Duration revocationPollInterval = Duration.ofSeconds(5);
+        private int maxCachedTokens = 10_000;
+        private Clock clock = Clock.systemUTC();
+        private ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "auth-client-revocations");
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        private Builder() {
+        }
+
+        /**
+         * The auth service's {@code jwt.signer-key}.
+         */
+        public Builder signerKey(String signerKey) {
+            return signerKey(signerKey.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Builder signerKey(byte[] signerKey) {
+            this.signerKey = signerKey.clone();
+            return this;
+        }
+
+        public Builder revocationFeed(RevocationFeed revocationFeed) {
+            this.revocationFeed = revocationFeed;
+            return this;
+        }
+
+        public Builder revocationPollInterval(Duration revocationPollInterval) {
+            this.revocationPollInterval = revocationPollInterval;
+            return this;
+        }
+
+        /**
+         * Upper bound on cached verifications; 0 disables the cache.
+         */
+        public Builder maxCachedTokens(int maxCachedTokens) {
+            this.maxCachedTokens = maxCachedTokens;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        public AuthTokenClient build() {
+            if (signerKey == null) {
+                throw new IllegalStateException("signerKey is required");
+            }
+            return new AuthTokenClient(this);
+        }
+    }
+}
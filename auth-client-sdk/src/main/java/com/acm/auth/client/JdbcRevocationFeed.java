@@ -0,0 +1,43 @@
+package com.acm.auth.client;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads active revocations from the auth service's {@code invalidated_tokens}
+ * table, for services that can reach its database (read-only access is enough).
+ */
+public class JdbcRevocationFeed implements RevocationFeed {
+
+    private static final String ACTIVE_REVOCATIONS =
+            "SELECT id, expiry_time FROM invalidated_tokens WHERE expiry_time > ?";
+
+    private final DataSource dataSource;
+
+    public JdbcRevocationFeed(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Map<String, Instant> fetchActive(Instant now) throws SQLException {
+        Map<String, Instant> snapshot = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(ACTIVE_REVOCATIONS)) {
+            statement.setTimestamp(1, Timestamp.from(now));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    snapshot.put(rs.getString(1), rs.getTimestamp(2).toInstant());
+                }
+            }
+        }
+        return snapshot;
+    }
+}
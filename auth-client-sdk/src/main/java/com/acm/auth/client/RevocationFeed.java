@@ -0,0 +1,19 @@
+package com.acm.auth.client;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Supplies the auth service's currently revoked token ids, each with the
+ * time the token would have expired anyway.
+ */
+@FunctionalInterface
+public interface RevocationFeed {
+
+    /**
+     * Returns a full snapshot of the active revocations.
+     *
+     * @throws Exception if the source is unavailable; the previous snapshot stays in use
+     */
+    Map<String, Instant> fetchActive(Instant now) throws Exception;
+}
@@ -0,0 +1,177 @@
+package com.acm.auth.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+
+/**
+ * Follows the auth service's revocation stream
+ * ({@code GET /api/v1/auth/revocations/stream}) and applies each event to an
+ * {@link AuthTokenClient}, so a logout reaches this service within
+ * milliseconds instead of one poll interval.
+ *
+ * Reconnects with {@code Last-Event-ID} after a failure, backing off up to
+ * 30 seconds. A {@code reset} event (the service restarted, or this
+ * subscriber was away too long) triggers a full
+ * {@link AuthTokenClient#syncRevocations()}, so keep a {@link RevocationFeed}
+ * configured as the fallback.
+ */
+public final class RevocationStreamSubscriber implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationStreamSubscriber.class);
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final AuthTokenClient client;
+    private final URI streamUri;
+    private final Supplier<String> bearerToken;
+    private final HttpClient httpClient;
+    private final Thread worker;
+
+    private volatile boolean running;
+    private volatile Stream<String> currentBody;
+    private String lastEventId;
+
+    /**
+     * @param bearerToken supplies a valid access token for each connection,
+     *                    e.g. a cached client_credentials token
+     */
+    public RevocationStreamSubscriber(AuthTokenClient client, URI streamUri, Supplier<String> bearerToken,
+            ThreadFactory threadFactory) {
+        this.client = client;
+        this.streamUri = streamUri;
+        this.bearerToken = bearerToken;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.worker = threadFactory.newThread(this::run);
+    }
+
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Stream<String> body = currentBody;
+        if (body != null) {
+            body.close();
+        }
+        worker.interrupt();
+    }
+
+    private void run() {
+        Duration backoff = INITIAL_BACKOFF;
+        while (running) {
+            try {
+                if (follow()) {
+                    backoff = INITIAL_BACKOFF;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    log.warn("Revocation stream disconnected, retrying in {}s: {}", backoff.toSeconds(),
+                            e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!running) {
+                return;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    /**
+     * Reads one connection until it ends. Returns whether any event arrived.
+     */
+    private boolean follow() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(streamUri)
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Bearer " + bearerToken.get())
+                .GET();
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(),
+                HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            currentBody = body;
+            boolean received = false;
+            String id = null;
+            String event = null;
+            StringBuilder data = new StringBuilder();
+            for (Iterator<String> lines = body.iterator(); running && lines.hasNext();) {
+                String line = lines.next();
+                if (line.isEmpty()) {
+                    if (event != null || data.length() > 0) {
+                        dispatch(event, data.toString());
+                        received = true;
+                    }
+                    if (id != null) {
+                        lastEventId = id;
+                    }
+                    id = null;
+                    event = null;
+                    data.setLength(0);
+                } else if (line.startsWith("id:")) {
+                    id = value(line);
+                } else if (line.startsWith("event:")) {
+                    event = value(line);
+                } else if (line.startsWith("data:")) {
+                    data.append(value(line));
+                }
+            }
+            return received;
+        } finally {
+            currentBody = null;
+        }
+    }
+
+    private void dispatch(String event, String data) {
+        if ("revoked".equals(event)) {
+            try {
+                Map<String, Object> payload = JSONObjectUtils.parse(data);
+                String jwtId = JSONObjectUtils.getString(payload, "jti");
+                long expiresAt = JSONObjectUtils.getLong(payload, "exp");
+                client.revoke(jwtId, Instant.ofEpochSecond(expiresAt));
+            } catch (ParseException e) {
+                log.warn("Ignoring malformed revocation event: {}", e.getMessage());
+            }
+        } else if ("reset".equals(event)) {
+            log.info("Revocation stream reset, reloading the full revocation set");
+            client.syncRevocations();
+        }
+    }
+
+    private static String value(String line) {
+        String value = line.substring(line.indexOf(':') + 1);
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.acm.auth.client;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.acm.auth.token.VerifiedToken;
+
+/**
+ * Verified tokens keyed by their serialized form, each kept until the token
+ * expires. Only successful verifications are cached, so the size is bounded
+ * by the number of live tokens seen rather than by what callers send; past
+ * {@code maxEntries} expired entries are swept and new tokens are simply
+ * verified without being cached.
+ */
+final class VerificationCache {
+
+    private record Entry(VerifiedToken token, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    VerificationCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    VerifiedToken get(String token, long nowMillis) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.token();
+    }
+
+    void put(String token, VerifiedToken verified, long nowMillis) {
+        Instant expiresAt = verified.expiresAt();
+        if (maxEntries <= 0 || expiresAt == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            sweep(nowMillis);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(token, new Entry(verified, expiresAt.toEpochMilli()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void sweep(long nowMillis) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+    }
+}
@@ -0,0 +1,52 @@
+package com.acm.auth.client.spring;
+
+import java.time.Instant;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.acm.auth.client.AuthTokenClient;
+import com.acm.auth.token.TokenVerificationException;
+import com.acm.auth.token.VerifiedToken;
+
+/**
+ * Drop-in {@link JwtDecoder} for resource servers, backed by an
+ * {@link AuthTokenClient}. Produces the same {@link Jwt} and error messages
+ * as the auth service's own decoder, so {@code scope}-based authorities work
+ * unchanged:
+ *
+ * <pre>
+ * &#64;Bean
+ * JwtDecoder jwtDecoder(AuthTokenClient authTokenClient) {
+ *     return new AuthClientJwtDecoder(authTokenClient);
+ * }
+ * </pre>
+ */
+public class AuthClientJwtDecoder implements JwtDecoder {
+
+    private final AuthTokenClient client;
+
+    public AuthClientJwtDecoder(AuthTokenClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        try {
+            VerifiedToken verified = client.verify(token);
+            return new Jwt(
+                    token,
+                    verified.issuedAt() != null ? verified.issuedAt() : Instant.now(),
+                    verified.expiresAt(),
+                    verified.jwt().getHeader().toJSONObject(),
+                    verified.claims().getClaims());
+        } catch (TokenVerificationException e) {
+            throw new JwtException(switch (e.getReason()) {
+                case REVOKED -> "Token has been invalidated";
+                case MALFORMED -> "Failed to decode JWT token";
+                default -> "Invalid JWT token";
+            }, e);
+        }
+    }
+}
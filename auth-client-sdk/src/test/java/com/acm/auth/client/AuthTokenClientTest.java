@@ -0,0 +1,143 @@
+package com.acm.auth.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.acm.auth.client.spring.AuthClientJwtDecoder;
+import com.acm.auth.token.TokenVerificationException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+class AuthTokenClientTest {
+
+    private static final byte[] KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3="
+            .getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final Map<String, Instant> revoked = new HashMap<>();
+    private boolean feedDown;
+    private Runnable duringFetch = () -> {
+    };
+
+    private final AuthTokenClient client = AuthTokenClient.builder()
+            .signerKey(KEY)
+            .clock(clock)
+            .revocationFeed(now -> {
+                if (feedDown) {
+                    throw new IllegalStateException("database unavailable");
+                }
+                Map<String, Instant> snapshot = Map.copyOf(revoked);
+                duringFetch.run();
+                return snapshot;
+            })
+            .build();
+
+    @Test
+    void cachedTokenIsRejectedOnceItsRevocationIsSynced() throws Exception {
+        String token = sign(NOW.plusSeconds(3600), "jti-1");
+        AuthClientJwtDecoder decoder = new AuthClientJwtDecoder(client);
+
+        assertEquals("alice", decoder.decode(token).getClaimAsString("username"));
+        assertTrue(client.isValid(token));
+        assertEquals(1, client.cachedTokens());
+
+        revoked.put("jti-1", NOW.plusSeconds(3600));
+        client.syncRevocations();
+
+        JwtException ex = assertThrows(JwtException.class, () -> decoder.decode(token));
+        assertEquals("Token has been invalidated", ex.getMessage());
+    }
+
+    @Test
+    void cacheEntryEndsWithTheToken() throws Exception {
+        String token = sign(NOW.plusSeconds(60), "jti-2");
+        assertTrue(client.isValid(token));
+
+        clock.instant = NOW.plusSeconds(61);
+        TokenVerificationException ex = assertThrows(TokenVerificationException.class, () -> client.verify(token));
+        assertEquals(TokenVerificationException.Reason.EXPIRED, ex.getReason());
+        assertEquals(0, client.cachedTokens());
+    }
+
+    @Test
+    void failedSyncKeepsPreviousRevocations() throws Exception {
+        String token = sign(NOW.plusSeconds(3600), "jti-3");
+        revoked.put("jti-3", NOW.plusSeconds(3600));
+        client.syncRevocations();
+
+        feedDown = true;
+        client.syncRevocations();
+
+        assertFalse(client.isValid(token));
+    }
+
+    @Test
+    void revocationPushedDuringASyncIsKept() throws Exception {
+        String pushed = sign(NOW.plusSeconds(3600), "jti-4");
+        String dropped = sign(NOW.plusSeconds(3600), "jti-5");
+        client.revoke("jti-5", NOW.plusSeconds(3600));
+
+        duringFetch = () -> client.revoke("jti-4", NOW.plusSeconds(3600));
+        client.syncRevocations();
+
+        assertFalse(client.isValid(pushed));
+        // Revoked before the fetch started and absent from the snapshot
+        assertTrue(client.isValid(dropped));
+    }
+
+    private static String sign(Instant expiresAt, String jwtId) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("alice@example.com")
+                .issuer("auth-service")
+                .issueTime(Date.from(NOW.minusSeconds(10)))
+                .expirationTime(Date.from(expiresAt))
+                .jwtID(jwtId)
+                .claim("username", "alice")
+                .claim("scope", "ROLE_USER")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        jwt.sign(new MACSigner(KEY));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
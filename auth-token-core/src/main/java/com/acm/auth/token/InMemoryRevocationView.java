@@ -0,0 +1,81 @@
+package com.acm.auth.token;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revocation view held entirely in memory, keyed by token id.
+ *
+ * Entries are kept until the revoked token would have expired anyway, after
+ * which {@link #pruneExpired(Instant)} drops them. Lookups never block.
+ *
+ * Every revocation is stamped with a revision, so a full snapshot can
+ * replace the set without losing revocations that arrived while it was being
+ * fetched.
+ */
+public class InMemoryRevocationView implements RevocationView {
+
+    private record Entry(long expiryMillis, long revision) {
+    }
+
+    private final Map<String, Entry> entriesByJwtId = new ConcurrentHashMap<>();
+    private final AtomicLong revisions = new AtomicLong();
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        return entriesByJwtId.containsKey(jwtId);
+    }
+
+    public void revoke(String jwtId, Instant expiresAt) {
+        entriesByJwtId.put(jwtId, new Entry(expiresAt.toEpochMilli(), revisions.incrementAndGet()));
+    }
+
+    /**
+     * The latest revision; read it before fetching a snapshot for
+     * {@link #replaceAll(Map, long)}.
+     */
+    public long revision() {
+        return revisions.get();
+    }
+
+    /**
+     * Adds every entry of a full snapshot and drops the ids it no longer
+     * holds, except those revoked after {@code fetchedFrom}: the snapshot was
+     * read too early to contain them.
+     */
+    public void replaceAll(Map<String, Instant> snapshot, long fetchedFrom) {
+        snapshot.forEach(this::revoke);
+        entriesByJwtId.values().removeIf(entry -> entry.revision() <= fetchedFrom);
+    }
+
+    public int pruneExpired(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        int before = entriesByJwtId.size();
+        entriesByJwtId.values().removeIf(entry -> entry.expiryMillis() <= nowMillis);
+        return before - entriesByJwtId.size();
+    }
+
+    /**
+     * A copy of the current entries.
+     */
+    public Map<String, Instant> entries() {
+        Map<String, Instant> copy = new HashMap<>(entriesByJwtId.size());
+        entriesByJwtId.forEach((jwtId, entry) -> copy.put(jwtId, Instant.ofEpochMilli(entry.expiryMillis())));
+        return copy;
+    }
+
+    /**
+     * Drops the given entries unless they were revoked again since.
+     */
+    public void removeAll(Map<String, Instant> entries) {
+        entries.forEach((jwtId, expiresAt) -> entriesByJwtId.computeIfPresent(jwtId,
+                (id, entry) -> entry.expiryMillis() == expiresAt.toEpochMilli() ? null : entry));
+    }
+
+    public int size() {
+        return entriesByJwtId.size();
+    }
+}
@@ -0,0 +1,212 @@
+package com.acm.auth.token;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * An immutable, memory-mapped set of revoked token ids with their expiries.
+ *
+ * Layout (big-endian): a 24-byte header - magic, watermark in epoch millis,
+ * entry count, CRC32C of the entries - followed by 24-byte entries sorted by
+ * key: two longs identifying the token id, then its expiry in epoch seconds.
+ * Token ids are reduced to 128-bit keys: the UUID or base64url bits the
+ * issuer generated, or a truncated SHA-256 for anything else. Lookups are a
+ * binary search over the mapping, so opening a snapshot costs one checksum
+ * pass and the page cache does the rest.
+ */
+public final class RevocationSnapshot {
+
+    static final int HEADER_BYTES = 24;
+    static final int ENTRY_BYTES = 24;
+    private static final long MAGIC = 0x41434D5245563031L; // "ACMREV01"
+
+    public static final RevocationSnapshot EMPTY =
+            new RevocationSnapshot(ByteBuffer.allocate(0), 0, Instant.EPOCH);
+
+    private final ByteBuffer entries;
+    private final int count;
+    private final Instant watermark;
+
+    private RevocationSnapshot(ByteBuffer entries, int count, Instant watermark) {
+        this.entries = entries;
+        this.count = count;
+        this.watermark = watermark;
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @throws IOException if the file is missing, truncated or corrupt
+     */
+    public static RevocationSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Revocation snapshot truncated: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getLong(0) != MAGIC) {
+                throw new IOException("Not a revocation snapshot: " + file);
+            }
+            long watermarkMillis = mapped.getLong(8);
+            int count = mapped.getInt(16);
+            int crc = mapped.getInt(20);
+            if (count < 0 || size != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+                throw new IOException("Revocation snapshot truncated: " + file);
+            }
+            ByteBuffer entries = mapped.slice(HEADER_BYTES, count * ENTRY_BYTES);
+            CRC32C checksum = new CRC32C();
+            checksum.update(entries.duplicate());
+            if ((int) checksum.getValue() != crc) {
+                throw new IOException("Revocation snapshot checksum mismatch: " + file);
+            }
+            return new RevocationSnapshot(entries, count, Instant.ofEpochMilli(watermarkMillis));
+        }
+    }
+
+    /**
+     * Whether {@code jwtId} is in the snapshot and not yet expired.
+     */
+    public boolean contains(String jwtId, long nowEpochSecond) {
+        if (count == 0) {
+            return false;
+        }
+        long[] key = key(jwtId);
+        int index = indexOf(key[0], key[1]);
+        return index >= 0 && entries.getLong(index * ENTRY_BYTES + 16) > nowEpochSecond;
+    }
+
+    /**
+     * The time up to which the database rows are included.
+     */
+    public Instant watermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    long highAt(int index) {
+        return entries.getLong(index * ENTRY_BYTES);
+    }
+
+    long lowAt(int index) {
+        return entries.getLong(index * ENTRY_BYTES + 8);
+    }
+
+    long expiryAt(int index) {
+        return entries.getLong(index * ENTRY_BYTES + 16);
+    }
+
+    /**
+     * Writes sorted, de-duplicated entries to {@code file}, replacing it
+     * atomically so readers never map a half-written snapshot.
+     */
+    static void write(Path file, long[] highs, long[] lows, long[] expiries, int count, Instant watermark)
+            throws IOException {
+        ByteBuffer entries = ByteBuffer.allocate(count * ENTRY_BYTES);
+        for (int i = 0; i < count; i++) {
+            entries.putLong(highs[i]).putLong(lows[i]).putLong(expiries[i]);
+        }
+        entries.flip();
+        CRC32C checksum = new CRC32C();
+        checksum.update(entries.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putLong(MAGIC)
+                .putLong(watermark.toEpochMilli())
+                .putInt(count)
+                .putInt((int) checksum.getValue())
+                .flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (entries.hasRemaining()) {
+                    channel.write(entries);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The 128-bit key of a token id: {@code {high, low}}.
+     */
+    static long[] key(String jwtId) {
+        if (jwtId.length() == 36 && jwtId.charAt(8) == '-') {
+            try {
+                UUID uuid = UUID.fromString(jwtId);
+                return new long[] { uuid.getMostSignificantBits(), uuid.getLeastSignificantBits() };
+            } catch (IllegalArgumentException e) {
+                // Not a UUID after all, hash it below
+            }
+        }
+        byte[] bits = null;
+        if (jwtId.length() == 22) {
+            try {
+                bits = Base64.getUrlDecoder().decode(jwtId);
+            } catch (IllegalArgumentException e) {
+                // Not base64url, hash it below
+            }
+        }
+        if (bits == null || bits.length != 16) {
+            bits = sha256(jwtId);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bits);
+        return new long[] { buffer.getLong(0), buffer.getLong(8) };
+    }
+
+    static int compare(long highA, long lowA, long highB, long lowB) {
+        int byHigh = Long.compare(highA, highB);
+        return byHigh != 0 ? byHigh : Long.compare(lowA, lowB);
+    }
+
+    private int indexOf(long high, long low) {
+        int from = 0;
+        int to = count - 1;
+        while (from <= to) {
+            int middle = (from + to) >>> 1;
+            int order = compare(highAt(middle), lowAt(middle), high, low);
+            if (order < 0) {
+                from = middle + 1;
+            } else if (order > 0) {
+                to = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.acm.auth.token;
+
+/**
+ * Answers whether a token id has been revoked (logged out or rotated).
+ */
+@FunctionalInterface
+public interface RevocationView {
+
+    RevocationView NONE = jwtId -> false;
+
+    boolean isRevoked(String jwtId);
+}
@@ -0,0 +1,171 @@
+package com.acm.auth.token;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Revocation view that survives restarts: a memory-mapped
+ * {@link RevocationSnapshot} plus the revocations seen since it was written.
+ *
+ * On start the last snapshot is mapped and the caller only has to load rows
+ * created after {@link #replayFrom()}, instead of the whole table. Lookups
+ * never touch the database, so verification keeps working from the snapshot
+ * and the recent entries while it is down. {@link #writeSnapshot()} folds the
+ * recent entries into a new file, which bounds both memory and restart work.
+ *
+ * Rows are replayed from {@link #OVERLAP} before the watermark, so inserts
+ * committed late or stamped by a slightly slow clock are not missed; applying
+ * a row twice is harmless.
+ */
+public final class SnapshotRevocationView implements RevocationView {
+
+    public static final Duration OVERLAP = Duration.ofSeconds(60);
+
+    private final Path file;
+    private final Clock clock;
+    private final InMemoryRevocationView recent = new InMemoryRevocationView();
+
+    private volatile RevocationSnapshot snapshot;
+    private volatile Instant watermark;
+
+    private SnapshotRevocationView(Path file, RevocationSnapshot snapshot, Clock clock) {
+        this.file = file;
+        this.snapshot = snapshot;
+        this.watermark = snapshot.watermark();
+        this.clock = clock;
+    }
+
+    /**
+     * Maps the snapshot at {@code file} if there is a valid one.
+     *
+     * @throws IOException if the file exists but cannot be used; callers
+     *                     typically fall back to {@link #empty(Path, Clock)}
+     */
+    public static SnapshotRevocationView open(Path file, Clock clock) throws IOException {
+        RevocationSnapshot snapshot = Files.exists(file) ? RevocationSnapshot.open(file) : RevocationSnapshot.EMPTY;
+        return new SnapshotRevocationView(file, snapshot, clock);
+    }
+
+    public static SnapshotRevocationView empty(Path file, Clock clock) {
+        return new SnapshotRevocationView(file, RevocationSnapshot.EMPTY, clock);
+    }
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        return recent.isRevoked(jwtId) || snapshot.contains(jwtId, clock.instant().getEpochSecond());
+    }
+
+    public void revoke(String jwtId, Instant expiresAt) {
+        recent.revoke(jwtId, expiresAt);
+    }
+
+    /**
+     * Where the next incremental load should start, or {@code null} when
+     * nothing has been loaded yet and a full load is needed.
+     */
+    public Instant replayFrom() {
+        Instant current = watermark;
+        return current.equals(Instant.EPOCH) ? null : current.minus(OVERLAP);
+    }
+
+    /**
+     * Adds rows loaded from the database by a query started at {@code loadedAt}.
+     */
+    public void apply(Map<String, Instant> rows, Instant loadedAt) {
+        rows.forEach(recent::revoke);
+        if (loadedAt.isAfter(watermark)) {
+            watermark = loadedAt;
+        }
+    }
+
+    public int pruneExpired(Instant now) {
+        return recent.pruneExpired(now);
+    }
+
+    /**
+     * Writes the live snapshot and recent entries to a new snapshot file and
+     * switches lookups to it. Not safe to call concurrently with itself.
+     */
+    public void writeSnapshot() throws IOException {
+        // Capture the watermark first: every row before it is already in recent
+        Instant includedUpTo = watermark;
+        Map<String, Instant> captured = recent.entries();
+        RevocationSnapshot current = snapshot;
+        long now = clock.instant().getEpochSecond();
+
+        int capacity = current.size() + captured.size();
+        long[] highs = new long[capacity];
+        long[] lows = new long[capacity];
+        long[] expiries = new long[capacity];
+        int count = 0;
+        for (int i = 0; i < current.size(); i++) {
+            if (current.expiryAt(i) > now) {
+                highs[count] = current.highAt(i);
+                lows[count] = current.lowAt(i);
+                expiries[count++] = current.expiryAt(i);
+            }
+        }
+        for (Map.Entry<String, Instant> entry : captured.entrySet()) {
+            long expiry = entry.getValue().getEpochSecond();
+            if (expiry > now) {
+                long[] key = RevocationSnapshot.key(entry.getKey());
+                highs[count] = key[0];
+                lows[count] = key[1];
+                expiries[count++] = expiry;
+            }
+        }
+        count = sortAndMerge(highs, lows, expiries, count);
+
+        RevocationSnapshot.write(file, highs, lows, expiries, count, includedUpTo);
+        snapshot = RevocationSnapshot.open(file);
+        recent.removeAll(captured);
+    }
+
+    public Instant watermark() {
+        return watermark;
+    }
+
+    public int snapshotSize() {
+        return snapshot.size();
+    }
+
+    public int recentSize() {
+        return recent.size();
+    }
+
+    /**
+     * Sorts the entries by key and keeps the latest expiry of duplicate keys.
+     */
+    private static int sortAndMerge(long[] highs, long[] lows, long[] expiries, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> RevocationSnapshot.compare(highs[a], lows[a], highs[b], lows[b]));
+
+        long[] sortedHighs = new long[count];
+        long[] sortedLows = new long[count];
+        long[] sortedExpiries = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            if (size > 0 && sortedHighs[size - 1] == highs[index] && sortedLows[size - 1] == lows[index]) {
+                sortedExpiries[size - 1] = Math.max(sortedExpiries[size - 1], expiries[index]);
+                continue;
+            }
+            sortedHighs[size] = highs[index];
+            sortedLows[size] = lows[index];
+            sortedExpiries[size++] = expiries[index];
+        }
+        System.arraycopy(sortedHighs, 0, highs, 0, size);
+        System.arraycopy(sortedLows, 0, lows, 0, size);
+        System.arraycopy(sortedExpiries, 0, expiries, 0, size);
+        return size;
+    }
+}
@@ -0,0 +1,272 @@
+package com.acm.auth.token;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Consumer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues HS512 tokens without the intermediate objects of the nimbus path
+ * ({@code JWSHeader}, {@code JWTClaimsSet}, claim maps, {@code Payload}).
+ *
+ * The header is encoded once. Claims are written as JSON straight into a
+ * per-thread buffer, base64url-encoded in place and signed with a per-thread
+ * {@link Mac}; the token string is the only allocation that escapes. Token
+ * ids come from a per-thread {@code DRBG} {@link SecureRandom} (NIST SP
+ * 800-90A, seeded from the platform entropy source) instead of the shared
+ * one behind {@code UUID.randomUUID()}, whose default on Linux is
+ * {@code NativePRNG} and synchronizes every call.
+ *
+ * On virtual threads each request thread gets fresh state; that costs about
+ * what the nimbus path allocates anyway and is negligible next to BCrypt.
+ */
+public final class TokenEncoder {
+
+    private static final byte[] HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encode("{\"alg\":\"HS512\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int MIN_KEY_LENGTH = 64;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(this::newState);
+
+    public TokenEncoder(byte[] signerKey) {
+        if (signerKey.length < MIN_KEY_LENGTH) {
+            throw new IllegalArgumentException("HS512 signer key must be at least 512 bits");
+        }
+        this.key = new SecretKeySpec(signerKey, "HmacSHA512");
+        newState();
+    }
+
+    /**
+     * Serializes and signs the claims written by {@code claims}.
+     */
+    public String encode(Consumer<ClaimWriter> claims) {
+        State s = state.get();
+        ClaimWriter writer = s.writer;
+        writer.reset();
+        claims.accept(writer);
+        writer.put((byte) '}');
+
+        int payloadLength = base64Length(writer.length);
+        int signingLength = HEADER.length + 1 + payloadLength;
+        byte[] out = s.output(signingLength + 1 + base64Length(SIGNATURE_LENGTH));
+        System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+        out[HEADER.length] = '.';
+        base64Url(writer.buffer, 0, writer.length, out, HEADER.length + 1);
+
+        try {
+            s.mac.update(out, 0, signingLength);
+            s.mac.doFinal(s.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token", e);
+        }
+        out[signingLength] = '.';
+        int length = signingLength + 1 + base64Url(s.signature, 0, SIGNATURE_LENGTH, out, signingLength + 1);
+        return new String(out, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 128 random bits as 22 base64url characters.
+     */
+    public String newJwtId() {
+        State s = state.get();
+        s.random.nextBytes(s.idBytes);
+        byte[] chars = new byte[22];
+        base64Url(s.idBytes, 0, 16, chars, 0);
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * A random (version 4) UUID string, as {@code UUID.randomUUID().toString()}.
+     */
+    public String newUuidJwtId() {
+        State s = state.get();
+        byte[] b = s.idBytes;
+        s.random.nextBytes(b);
+        b[6] = (byte) ((b[6] & 0x0f) | 0x40);
+        b[8] = (byte) ((b[8] & 0x3f) | 0x80);
+        byte[] chars = new byte[36];
+        int pos = 0;
+        for (int i = 0; i < 16; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) {
+                chars[pos++] = '-';
+            }
+            chars[pos++] = HEX[(b[i] >> 4) & 0x0f];
+            chars[pos++] = HEX[b[i] & 0x0f];
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+    private State newState() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA512");
+            mac.init(key);
+            return new State(mac, SecureRandom.getInstance("DRBG"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA512 or DRBG unavailable", e);
+        }
+    }
+
+    private static int base64Length(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    private static int base64Url(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int end = offset + length;
+        int d = dstOffset;
+        int i = offset;
+        for (; i + 2 < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[d++] = BASE64_URL[bits >>> 18];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            dst[d++] = BASE64_URL[(bits >>> 6) & 0x3f];
+            dst[d++] = BASE64_URL[bits & 0x3f];
+        }
+        int remaining = end - i;
+        if (remaining > 0) {
+            int bits = (src[i] & 0xff) << 16 | (remaining == 2 ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[d++] = BASE64_URL[bits >>> 18];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            if (remaining == 2) {
+                dst[d++] = BASE64_URL[(bits >>> 6) & 0x3f];
+            }
+        }
+        return d - dstOffset;
+    }
+
+    private static final class State {
+        private final Mac mac;
+        private final SecureRandom random;
+        private final ClaimWriter writer = new ClaimWriter();
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private final byte[] idBytes = new byte[16];
+        private byte[] output = new byte[768];
+
+        private State(Mac mac, SecureRandom random) {
+            this.mac = mac;
+            this.random = random;
+        }
+
+        private byte[] output(int size) {
+            if (output.length < size) {
+                output = new byte[Math.max(size, output.length * 2)];
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Writes one JSON object of claims. {@code null} values are skipped, as
+     * nimbus does when serializing a claims set.
+     */
+    public static final class ClaimWriter {
+
+        private byte[] buffer = new byte[512];
+        private int length;
+
+        private ClaimWriter() {
+        }
+
+        public ClaimWriter string(String name, String value) {
+            if (value != null) {
+                name(name);
+                quoted(value);
+            }
+            return this;
+        }
+
+        public ClaimWriter number(String name, long value) {
+            name(name);
+            if (value < 0) {
+                if (value == Long.MIN_VALUE) {
+                    ascii(Long.toString(value));
+                    return this;
+                }
+                put((byte) '-');
+                value = -value;
+            }
+            int start = length;
+            do {
+                put((byte) ('0' + value % 10));
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte t = buffer[i];
+                buffer[i] = buffer[j];
+                buffer[j] = t;
+            }
+            return this;
+        }
+
+        public ClaimWriter number(String name, Long value) {
+            return value != null ? number(name, value.longValue()) : this;
+        }
+
+        private void reset() {
+            length = 0;
+            put((byte) '{');
+        }
+
+        private void name(String name) {
+            if (length > 1) {
+                put((byte) ',');
+            }
+            quoted(name);
+            put((byte) ':');
+        }
+
+        private void quoted(String value) {
+            put((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    put((byte) '\\');
+                    put((byte) c);
+                } else if (c < 0x20) {
+                    ascii(String.format("\\u%04x", (int) c));
+                } else if (c < 0x80) {
+                    put((byte) c);
+                } else if (c < 0x800) {
+                    put((byte) (0xc0 | (c >> 6)));
+                    put((byte) (0x80 | (c & 0x3f)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    put((byte) (0xf0 | (cp >> 18)));
+                    put((byte) (0x80 | ((cp >> 12) & 0x3f)));
+                    put((byte) (0x80 | ((cp >> 6) & 0x3f)));
+                    put((byte) (0x80 | (cp & 0x3f)));
+                } else if (Character.isSurrogate(c)) {
+                    put((byte) '?');
+                } else {
+                    put((byte) (0xe0 | (c >> 12)));
+                    put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                    put((byte) (0x80 | (c & 0x3f)));
+                }
+            }
+            put((byte) '"');
+        }
+
+        private void ascii(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                put((byte) s.charAt(i));
+            }
+        }
+
+        private void put(byte b) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[length++] = b;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.acm.auth.token;
+
+/**
+ * Thrown when a token fails verification, with the reason it was rejected.
+ */
+public class TokenVerificationException extends Exception {
+
+    public enum Reason {
+        MALFORMED,
+        BAD_SIGNATURE,
+        EXPIRED,
+        REVOKED
+    }
+
+    private final Reason reason;
+
+    public TokenVerificationException(Reason reason) {
+        super("Token rejected: " + reason);
+        this.reason = reason;
+    }
+
+    public TokenVerificationException(Reason reason, Throwable cause) {
+        super("Token rejected: " + reason, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,127 @@
+package com.acm.auth.token;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Verifies the HS512 tokens issued by the auth service.
+ *
+ * Checks, in order: the token parses, the MAC matches, the token is within
+ * its lifetime, and its id is not revoked. Access tokens live until
+ * {@code exp}; for refresh the window is {@code iat + refreshableDuration}.
+ * Service tokens (those carrying {@code client_id}) get no refresh window:
+ * they are valid until {@code exp} for every purpose.
+ * Compact-profile tokens come back with their claims under the standard
+ * names (see {@link CompactClaims}).
+ * The verifier is immutable and safe to share between threads; it does no
+ * I/O beyond what the {@link RevocationView} does.
+ */
+public final class TokenVerifier {
+
+    public static final String CLIENT_ID_CLAIM = "client_id";
+
+    private final JWSVerifier macVerifier;
+    private final Duration refreshableDuration;
+    private final RevocationView revocationView;
+    private final Clock clock;
+
+    public TokenVerifier(byte[] signerKey, Duration refreshableDuration, RevocationView revocationView, Clock clock) {
+        try {
+            this.macVerifier = new MACVerifier(signerKey);
+        } catch (JOSEException e) {
+            throw new IllegalArgumentException("Invalid JWT signer key", e);
+        }
+        this.refreshableDuration = refreshableDuration;
+        this.revocationView = revocationView;
+        this.clock = clock;
+    }
+
+    /**
+     * Verifies an access token.
+     */
+    public VerifiedToken verify(String token) throws TokenVerificationException {
+        return verify(token, false);
+    }
+
+    /**
+     * Verifies a token presented for refresh or logout.
+     */
+    public VerifiedToken verifyForRefresh(String token) throws TokenVerificationException {
+        return verify(token, true);
+    }
+
+    /**
+     * Verifies a token presented for refresh, optionally leaving the
+     * revocation check to the caller (e.g. to recognise a token that was
+     * just rotated by a concurrent request for the same token).
+     */
+    public VerifiedToken verifyForRefresh(String token, boolean checkRevocation) throws TokenVerificationException {
+        return verify(token, true, checkRevocation);
+    }
+
+    /**
+     * Applies the refresh window to a token this verifier already accepted,
+     * e.g. earlier in the same request. The signature and revocation checks
+     * are not repeated.
+     */
+    public VerifiedToken verifyForRefresh(VerifiedToken verified) throws TokenVerificationException {
+        Instant validUntil = validUntil(verified.claims(), true);
+        if (validUntil == null || !validUntil.isAfter(clock.instant())) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.EXPIRED);
+        }
+        return verified;
+    }
+
+    private VerifiedToken verify(String token, boolean refresh) throws TokenVerificationException {
+        return verify(token, refresh, true);
+    }
+
+    private VerifiedToken verify(String token, boolean refresh, boolean checkRevocation)
+            throws TokenVerificationException {
+        SignedJWT jwt;
+        JWTClaimsSet claims;
+        try {
+            jwt = SignedJWT.parse(token);
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, e);
+        }
+
+        try {
+            if (!jwt.verify(macVerifier)) {
+                throw new TokenVerificationException(TokenVerificationException.Reason.BAD_SIGNATURE);
+            }
+        } catch (JOSEException | IllegalStateException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.BAD_SIGNATURE, e);
+        }
+
+        Instant validUntil = validUntil(claims, refresh);
+        if (validUntil == null || !validUntil.isAfter(clock.instant())) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.EXPIRED);
+        }
+
+        String jwtId = claims.getJWTID();
+        if (checkRevocation && jwtId != null && revocationView.isRevoked(jwtId)) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.REVOKED);
+        }
+        return new VerifiedToken(jwt, CompactClaims.expand(claims));
+    }
+
+    private Instant validUntil(JWTClaimsSet claims, boolean refresh) {
+        refresh = refresh && claims.getClaim(CLIENT_ID_CLAIM) == null;
+        Date boundary = refresh ? claims.getIssueTime() : claims.getExpirationTime();
+        if (boundary == null) {
+            return null;
+        }
+        return refresh ? boundary.toInstant().plus(refreshableDuration) : boundary.toInstant();
+    }
+}
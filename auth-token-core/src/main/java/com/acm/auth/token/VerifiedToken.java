@@ -0,0 +1,26 @@
+package com.acm.auth.token;
+
+import java.time.Instant;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * A token whose signature, lifetime and revocation status have been checked.
+ * {@code claims} always uses the standard claim names, whatever profile the
+ * token was issued with; {@code jwt} is the token as received.
+ */
+public record VerifiedToken(SignedJWT jwt, JWTClaimsSet claims) {
+
+    public String jwtId() {
+        return claims.getJWTID();
+    }
+
+    public Instant issuedAt() {
+        return claims.getIssueTime() != null ? claims.getIssueTime().toInstant() : null;
+    }
+
+    public Instant expiresAt() {
+        return claims.getExpirationTime() != null ? claims.getExpirationTime().toInstant() : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.acm.auth.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotRevocationViewTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restartedViewServesSnapshotAndReplaysFromWatermark() throws IOException {
+        Path file = dir.resolve("revocations.snap");
+        String uuid = UUID.randomUUID().toString();
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        String compact = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        SnapshotRevocationView view = SnapshotRevocationView.open(file, CLOCK);
+        assertNull(view.replayFrom());
+        view.apply(Map.of(
+                uuid, NOW.plusSeconds(3600),
+                compact, NOW.plusSeconds(3600),
+                "legacy-id", NOW.plusSeconds(3600),
+                "expired", NOW.minusSeconds(1)), NOW);
+        view.writeSnapshot();
+        view.revoke("after-snapshot", NOW.plusSeconds(3600));
+
+        assertEquals(3, view.snapshotSize());
+        assertEquals(1, view.recentSize());
+
+        SnapshotRevocationView restarted = SnapshotRevocationView.open(file, CLOCK);
+        assertTrue(restarted.isRevoked(uuid));
+        assertTrue(restarted.isRevoked(compact));
+        assertTrue(restarted.isRevoked("legacy-id"));
+        assertFalse(restarted.isRevoked("expired"));
+        assertFalse(restarted.isRevoked("after-snapshot"));
+        assertFalse(restarted.isRevoked(UUID.randomUUID().toString()));
+        assertEquals(NOW.minus(SnapshotRevocationView.OVERLAP), restarted.replayFrom());
+    }
+
+    @Test
+    void corruptSnapshotIsRejected() throws IOException {
+        Path file = dir.resolve("revocations.snap");
+        SnapshotRevocationView view = SnapshotRevocationView.open(file, CLOCK);
+        view.apply(Map.of("jti-1", NOW.plusSeconds(3600)), NOW);
+        view.writeSnapshot();
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(RevocationSnapshot.HEADER_BYTES + 3);
+            raw.write(0x5A);
+        }
+
+        assertThrows(IOException.class, () -> SnapshotRevocationView.open(file, CLOCK));
+    }
+}
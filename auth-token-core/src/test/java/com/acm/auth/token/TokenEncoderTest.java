@@ -0,0 +1,55 @@
+package com.acm.auth.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+class TokenEncoderTest {
+
+    private static final byte[] KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3="
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final TokenEncoder encoder = new TokenEncoder(KEY);
+
+    @Test
+    void producesTokensNimbusVerifiesAndParses() throws Exception {
+        String name = "Zoë \"Q\" \\ Nguyễn 😀\n";
+        String token = encoder.encode(claims -> claims
+                .string("sub", "zoe@example.com")
+                .number("iat", 1_700_000_000L)
+                .number("user_id", -42L)
+                .string("name", name)
+                .string("role", null));
+
+        SignedJWT jwt = SignedJWT.parse(token);
+        assertTrue(jwt.verify(new MACVerifier(KEY)));
+        assertEquals("HS512", jwt.getHeader().getAlgorithm().getName());
+
+        JWTClaimsSet claims = jwt.getJWTClaimsSet();
+        assertEquals("zoe@example.com", claims.getSubject());
+        assertEquals(1_700_000_000L, claims.getIssueTime().getTime() / 1000);
+        assertEquals(-42L, claims.getLongClaim("user_id"));
+        assertEquals(name, claims.getStringClaim("name"));
+        assertTrue(!claims.getClaims().containsKey("role"));
+    }
+
+    @Test
+    void generatesRandomJwtIds() {
+        String compact = encoder.newJwtId();
+        assertEquals(22, compact.length());
+        assertTrue(compact.matches("[A-Za-z0-9_-]+"));
+
+        UUID uuid = UUID.fromString(encoder.newUuidJwtId());
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(!encoder.newJwtId().equals(compact));
+    }
+}
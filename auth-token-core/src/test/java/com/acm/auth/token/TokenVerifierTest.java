@@ -0,0 +1,91 @@
+package com.acm.auth.token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+class TokenVerifierTest {
+
+    private static final byte[] KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3="
+            .getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final InMemoryRevocationView revocations = new InMemoryRevocationView();
+    private final TokenVerifier verifier = new TokenVerifier(KEY, Duration.ofDays(1), revocations,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void acceptsValidTokenAndRejectsRevokedOne() throws Exception {
+        String token = sign(KEY, NOW.minusSeconds(60), NOW.plusSeconds(3600), "jti-1");
+
+        assertEquals("jti-1", verifier.verify(token).jwtId());
+
+        revocations.revoke("jti-1", NOW.plusSeconds(3600));
+        assertReason(TokenVerificationException.Reason.REVOKED, token, false);
+    }
+
+    @Test
+    void refreshWindowOutlivesAccessExpiry() throws Exception {
+        String token = sign(KEY, NOW.minusSeconds(7200), NOW.minusSeconds(3600), "jti-2");
+
+        assertReason(TokenVerificationException.Reason.EXPIRED, token, false);
+        assertEquals("jti-2", verifier.verifyForRefresh(token).jwtId());
+    }
+
+    @Test
+    void rejectsForgedAndMalformedTokens() throws Exception {
+        byte[] otherKey = "another-secret-key-that-is-at-least-sixty-four-bytes-long-for-hs512!"
+                .getBytes(StandardCharsets.UTF_8);
+        assertReason(TokenVerificationException.Reason.BAD_SIGNATURE,
+                sign(otherKey, NOW, NOW.plusSeconds(60), "jti-3"), false);
+        assertReason(TokenVerificationException.Reason.MALFORMED, "not-a-jwt", false);
+    }
+
+    @Test
+    void pruneDropsOnlyExpiredRevocations() {
+        revocations.revoke("old", NOW.minusSeconds(1));
+        revocations.revoke("live", NOW.plusSeconds(60));
+
+        assertEquals(1, revocations.pruneExpired(NOW));
+        assertEquals(1, revocations.size());
+    }
+
+    private void assertReason(TokenVerificationException.Reason reason, String token, boolean refresh) {
+        TokenVerificationException ex = assertThrows(TokenVerificationException.class,
+                () -> {
+                    if (refresh) {
+                        verifier.verifyForRefresh(token);
+                    } else {
+                        verifier.verify(token);
+                    }
+                });
+        assertEquals(reason, ex.getReason());
+    }
+
+    private static String sign(byte[] key, Instant issuedAt, Instant expiresAt, String jwtId) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user@example.com")
+                .issuer("auth-service")
+                .issueTime(Date.from(issuedAt))
+                .expirationTime(Date.from(expiresAt))
+                .jwtID(jwtId)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        jwt.sign(new MACSigner(key));
+        return jwt.serialize();
+    }
+}
@@ -1,5 +1,6 @@
 package com.acm.auth.config;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import com.acm.auth.constant.PredefinedRole;
 import com.acm.auth.entity.Role;
 import com.acm.auth.entity.User;
+import com.acm.auth.enums.Permission;
 import com.acm.auth.enums.UserStatus;
 import com.acm.auth.repository.RoleRepository;
 import com.acm.auth.repository.UserRepository;
@@ -62,13 +64,13 @@ public class ApplicationInitConfig {
         log.info("Initializing default data (roles and users)...");
         return args -> {
             // 1. Ensure default roles exist (only ADMIN and USER)
-            Role adminRole = ensureRoleExists(
+            Role adminRole = ensureHasAllPermissions(ensureRoleExists(
                     PredefinedRole.ADMIN_ROLE,
                     "Administrator",
                     "System administrator with full access. Can manage roles and users.",
                     100, // Highest priority
                     "/admin",
-                    roleRepository);
+                    roleRepository), roleRepository);
             Role userRole = ensureRoleExists(
                     PredefinedRole.USER_ROLE,
                     "User",
@@ -110,6 +112,24 @@ public class ApplicationInitConfig {
                 });
     }
 
+    /**
+     * Grants any permission the role is missing, including ones added in
+     * newer releases, so administrators never lose access to new endpoints.
+     * Returns the role as saved: the admin user is saved with a cascading
+     * merge, which must not carry a stale permission set.
+     */
+    private Role ensureHasAllPermissions(Role role, RoleRepository roleRepository) {
+        Role loaded = roleRepository.findWithPermissionsByCode(role.getCode()).orElse(role);
+        EnumSet<Permission> missing = EnumSet.allOf(Permission.class);
+        missing.removeAll(loaded.getPermissions());
+        if (missing.isEmpty()) {
+            return loaded;
+        }
+        log.info("Granting permissions {} to role: {}", missing, loaded.getCode());
+        loaded.getPermissions().addAll(missing);
+        return roleRepository.save(loaded);
+    }
+
     private void ensureUserExistsWithRole(String username, String email, String password,
             String fullName, String phone, Role role,
             UserRepository userRepository) {
@@ -0,0 +1,36 @@
+package com.acm.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.service.audit.AuthEventLog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+@Configuration
+public class AuthEventLogConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.auth-log.samples-per-interval:20}")
+    private int samplesPerInterval;
+
+    @Value("${app.auth-log.summary-interval-seconds:60}")
+    private long summaryIntervalSeconds;
+
+    @Bean(destroyMethod = "close")
+    public AuthEventLog authEventLog(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        AuthEventLog authEventLog = new AuthEventLog(
+                new AuthEventLog.Settings(samplesPerInterval, Duration.ofSeconds(summaryIntervalSeconds)),
+                ThreadFactories.named("auth-event-log-", virtualThreads),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        authEventLog.start();
+        return authEventLog;
+    }
+}
@@ -0,0 +1,35 @@
+package com.acm.auth.config;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.acm.auth.service.jfr.AuthFlow;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Labels the request's thread with its {@link AuthFlow}. Runs ahead of the
+ * security filter chain so token verification is attributed as well.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AuthFlowFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AuthFlow.set(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AuthFlow.clear();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.acm.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.service.availability.AvailabilityService;
+import com.acm.auth.service.availability.UserIdentifierTopUp;
+
+/**
+ * Keeps the username/email availability filter in step with users created
+ * on other instances.
+ */
+@Configuration
+public class AvailabilityConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.availability.top-up-seconds:30}")
+    private long topUpSeconds;
+
+    @Bean(destroyMethod = "close")
+    public UserIdentifierTopUp userIdentifierTopUp(AvailabilityService availabilityService) {
+        UserIdentifierTopUp topUp = new UserIdentifierTopUp(
+                availabilityService,
+                Duration.ofSeconds(topUpSeconds),
+                ThreadFactories.named("availability-top-up-", virtualThreads));
+        topUp.start();
+        return topUp;
+    }
+}
@@ -1,71 +1,60 @@
 package com.acm.auth.config;
 
-import java.text.ParseException;
 import java.time.Instant;
-import java.util.Date;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 
-import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.MACVerifier;
-import com.nimbusds.jwt.SignedJWT;
-
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
-import com.acm.auth.repository.InvalidatedTokenRepository;
+import com.acm.auth.service.RequestTokenContext;
+import com.acm.auth.service.TokenMetrics;
+import com.acm.auth.service.jfr.TokenEvent;
+import com.acm.auth.token.TokenVerificationException;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.auth.token.VerifiedToken;
 
 @Component
 @Slf4j
 public class CustomJwtDecoder implements JwtDecoder {
 
-    @Value("${jwt.signer-key}")
-    private String signerKey;
-
-    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final TokenVerifier tokenVerifier;
+    private final RequestTokenContext requestTokenContext;
+    private final TokenMetrics tokenMetrics;
 
-    public CustomJwtDecoder(InvalidatedTokenRepository invalidatedTokenRepository) {
-        this.invalidatedTokenRepository = invalidatedTokenRepository;
+    public CustomJwtDecoder(TokenVerifier tokenVerifier, RequestTokenContext requestTokenContext,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.tokenVerifier = tokenVerifier;
+        this.requestTokenContext = requestTokenContext;
+        this.tokenMetrics = new TokenMetrics(meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry),
+                TokenMetrics.CALLER_DECODER);
     }
 
     @Override
     public Jwt decode(String token) throws JwtException {
+        TokenEvent event = tokenMetrics.startVerifying();
         try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-
-            JWSVerifier verifier = new MACVerifier(signerKey.getBytes());
-            boolean verified = signedJWT.verify(verifier);
-
-            Date expirationTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-            boolean notExpired = expirationTime != null && expirationTime.after(new Date());
-
-            if (!verified || !notExpired) {
-                throw new JwtException("Invalid JWT token");
-            }
-
-            String jwtId = signedJWT.getJWTClaimsSet().getJWTID();
-            if (jwtId != null && invalidatedTokenRepository.existsById(jwtId)) {
-                throw new JwtException("Token has been invalidated");
-            }
-
-            Instant issuedAt = signedJWT.getJWTClaimsSet().getIssueTime() != null
-                    ? signedJWT.getJWTClaimsSet().getIssueTime().toInstant()
-                    : Instant.now();
-            Instant expiresAt = expirationTime.toInstant();
-
+            VerifiedToken verified = tokenVerifier.verify(token);
+            tokenMetrics.verified(event);
+            requestTokenContext.remember(token, verified);
             return new Jwt(
                     token,
-                    issuedAt,
-                    expiresAt,
-                    signedJWT.getHeader().toJSONObject(),
-                    signedJWT.getJWTClaimsSet().getClaims());
-
-        } catch (ParseException | JOSEException e) {
-            log.error("Failed to decode JWT: {}", e.getMessage());
-            throw new JwtException("Failed to decode JWT token", e);
+                    verified.issuedAt() != null ? verified.issuedAt() : Instant.now(),
+                    verified.expiresAt(),
+                    verified.jwt().getHeader().toJSONObject(),
+                    verified.claims().getClaims());
+        } catch (TokenVerificationException e) {
+            tokenMetrics.rejected(e.getReason(), event);
+            log.debug("Failed to decode JWT: {}", e.getReason());
+            throw new JwtException(switch (e.getReason()) {
+                case REVOKED -> "Token has been invalidated";
+                case MALFORMED -> "Failed to decode JWT token";
+                default -> "Invalid JWT token";
+            }, e);
         }
     }
 }
@@ -0,0 +1,198 @@
+package com.acm.auth.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.acm.auth.service.EmailService;
+import com.acm.auth.service.email.CircuitBreakerEmailService;
+import com.acm.auth.service.email.DomainRateLimiter;
+import com.acm.auth.service.email.EmailCircuitBreaker;
+import com.acm.auth.service.email.OtpMessageFactory;
+import com.acm.auth.service.email.QueuedEmailService;
+import com.acm.auth.service.email.SpoolEmailService;
+import com.acm.auth.service.impl.SmtpEmailService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Assembles the email delivery pipeline.
+ * The primary {@link EmailService} wraps the SMTP transport with a call
+ * deadline and a circuit breaker so a slow relay cannot exhaust request threads,
+ * and (unless disabled) puts a coalescing, per-domain throttled queue in front.
+ * With {@code app.mail.transport=spool} messages are instead written to a local
+ * maildir spool; a disk write needs no deadline or breaker.
+ */
+@Configuration
+public class EmailConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.mail.spool.directory:./mail-spool}")
+    private String spoolDirectory;
+
+    @Value("${app.mail.spool.fsync-batch-size:32}")
+    private int spoolBatchSize;
+
+    @Value("${app.mail.spool.fsync-interval-ms:50}")
+    private long spoolFlushIntervalMs;
+
+    @Value("${app.mail.circuit-breaker.call-timeout-ms:8000}")
+    private long callTimeoutMs;
+
+    @Value("${app.mail.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.mail.circuit-breaker.minimum-calls:5}")
+    private int minimumCalls;
+
+    @Value("${app.mail.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${app.mail.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${app.mail.circuit-breaker.slow-call-duration-ms:3000}")
+    private long slowCallDurationMs;
+
+    @Value("${app.mail.circuit-breaker.open-duration-seconds:30}")
+    private long openDurationSeconds;
+
+    @Value("${app.mail.circuit-breaker.half-open-permits:3}")
+    private int halfOpenPermits;
+
+    @Value("${app.mail.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.mail.executor.queue-capacity:16}")
+    private int executorQueueCapacity;
+
+    @Value("${app.mail.queue.enabled:true}")
+    private boolean queueEnabled;
+
+    @Value("${app.mail.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.mail.queue.workers:4}")
+    private int queueWorkers;
+
+    @Value("${app.mail.queue.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.mail.queue.retry-delay-seconds:10}")
+    private long retryDelaySeconds;
+
+    @Value("${app.mail.throttle.per-domain-per-second:5}")
+    private double perDomainPerSecond;
+
+    @Value("${app.mail.throttle.per-domain-burst:20}")
+    private int perDomainBurst;
+
+    /**
+     * Runs the blocking SMTP dialogue. Deliberately platform threads even in
+     * virtual-thread mode: Jakarta Mail's SMTPTransport holds monitors around
+     * socket I/O, which would pin carrier threads on JDK 21. Tasks run in the
+     * submitter's trace and MDC context.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor emailSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(executorQueueCapacity);
+        executor.setThreadNamePrefix("email-send-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    @Bean
+    public EmailCircuitBreaker emailCircuitBreaker(Clock clock, ApplicationEventPublisher eventPublisher,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        EmailCircuitBreaker.Settings settings = new EmailCircuitBreaker.Settings(
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                slowCallRateThreshold,
+                Duration.ofMillis(slowCallDurationMs),
+                Duration.ofSeconds(openDurationSeconds),
+                halfOpenPermits);
+
+        EmailCircuitBreaker circuitBreaker = new EmailCircuitBreaker(settings, clock, event -> {
+            meterRegistry.counter("email.circuit.transitions",
+                    "from", event.from().name(), "to", event.to().name()).increment();
+            eventPublisher.publishEvent(event);
+        });
+        Gauge.builder("email.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Email circuit breaker state (0 = closed, 1 = half-open, 2 = open)")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.mail.transport", havingValue = "spool")
+    public SpoolEmailService spoolEmailService(OtpMessageFactory otpMessageFactory,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) throws IOException {
+        SpoolEmailService spool = new SpoolEmailService(
+                otpMessageFactory,
+                new SpoolEmailService.Settings(Path.of(spoolDirectory), Math.max(1, spoolBatchSize),
+                        Duration.ofMillis(spoolFlushIntervalMs)),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        spool.start(ThreadFactories.named("email-spool-flush-", virtualThreads));
+        return spool;
+    }
+
+    @Bean
+    @Primary
+    public EmailService emailService(SmtpEmailService smtpEmailService,
+            ObjectProvider<SpoolEmailService> spoolEmailService, EmailCircuitBreaker emailCircuitBreaker,
+            ThreadPoolTaskExecutor emailSendExecutor, Clock clock, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        SpoolEmailService spool = spoolEmailService.getIfAvailable();
+        EmailService delivery;
+        BooleanSupplier deliveryUnavailable;
+        if (spool != null) {
+            delivery = spool;
+            deliveryUnavailable = () -> false;
+        } else {
+            delivery = new CircuitBreakerEmailService(
+                    smtpEmailService,
+                    emailCircuitBreaker,
+                    emailSendExecutor,
+                    Duration.ofMillis(callTimeoutMs),
+                    meterRegistry);
+            deliveryUnavailable = emailCircuitBreaker::isRejecting;
+        }
+        if (!queueEnabled) {
+            return delivery;
+        }
+
+        QueuedEmailService queued = new QueuedEmailService(
+                delivery,
+                new DomainRateLimiter(perDomainPerSecond, perDomainBurst),
+                deliveryUnavailable,
+                new QueuedEmailService.Settings(queueCapacity, queueWorkers, maxAttempts,
+                        Duration.ofSeconds(retryDelaySeconds)),
+                clock,
+                meterRegistry);
+        queued.start(ThreadFactories.named("email-dispatch-", virtualThreads));
+        return queued;
+    }
+}
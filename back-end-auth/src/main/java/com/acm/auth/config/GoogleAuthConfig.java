@@ -0,0 +1,83 @@
+package com.acm.auth.config;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.service.google.FileGoogleSigningKeySource;
+import com.acm.auth.service.google.GoogleIdTokenValidator;
+import com.acm.auth.service.google.GoogleSigningKeySource;
+import com.acm.auth.service.google.HttpGoogleSigningKeySource;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Shared Google ID-token verification: one HTTP transport, one key cache.
+ * Set {@code google.certs.source=file} to read the JWK set from a local file.
+ */
+@Configuration
+public class GoogleAuthConfig {
+
+    @Value("${google.client-id}")
+    private String googleClientId;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${google.certs.source:http}")
+    private String certsSource;
+
+    @Value("${google.certs.url:https://www.googleapis.com/oauth2/v3/certs}")
+    private String certsUrl;
+
+    @Value("${google.certs.file:}")
+    private String certsFile;
+
+    @Value("${google.certs.file-reload-seconds:300}")
+    private long fileReloadSeconds;
+
+    @Value("${google.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${google.http.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
+    @Bean
+    public HttpTransport googleHttpTransport() {
+        return new NetHttpTransport();
+    }
+
+    @Bean
+    public GoogleSigningKeySource googleSigningKeySource(HttpTransport googleHttpTransport, Clock clock) {
+        if ("file".equalsIgnoreCase(certsSource)) {
+            if (certsFile.isBlank()) {
+                throw new IllegalStateException("google.certs.file is required when google.certs.source=file");
+            }
+            return new FileGoogleSigningKeySource(Path.of(certsFile), Duration.ofSeconds(fileReloadSeconds), clock);
+        }
+        return new HttpGoogleSigningKeySource(googleHttpTransport, certsUrl,
+                Duration.ofMillis(connectTimeoutMs), Duration.ofMillis(readTimeoutMs), clock);
+    }
+
+    @Bean(destroyMethod = "close")
+    public GoogleIdTokenValidator googleIdTokenValidator(GoogleSigningKeySource googleSigningKeySource, Clock clock,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        GoogleIdTokenValidator validator = new GoogleIdTokenValidator(
+                googleSigningKeySource,
+                List.of(googleClientId),
+                clock,
+                ThreadFactories.named("google-keys-refresh-", virtualThreads),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        validator.start();
+        return validator;
+    }
+}
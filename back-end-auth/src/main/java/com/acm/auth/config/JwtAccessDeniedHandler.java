@@ -0,0 +1,40 @@
+package com.acm.auth.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class JwtAccessDeniedHandler implements AccessDeniedHandler {
+
+    // Every denied request gets the same body; serialize it once
+    private static final byte[] BODY = serialize(Map.of(
+            "code", "ACCESS_DENIED",
+            "message", "You do not have permission to perform this action"));
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+            AccessDeniedException accessDeniedException) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        response.setContentLength(BODY.length);
+        response.getOutputStream().write(BODY);
+    }
+
+    private static byte[] serialize(Map<String, Object> body) {
+        try {
+            return new ObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
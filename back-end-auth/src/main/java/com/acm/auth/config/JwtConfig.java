@@ -0,0 +1,57 @@
+package com.acm.auth.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.repository.InvalidatedTokenRepository;
+import com.acm.auth.service.revocation.FallbackRevocationView;
+import com.acm.auth.service.revocation.TimedRevocationView;
+import com.acm.auth.token.SnapshotRevocationView;
+import com.acm.auth.token.TokenEncoder;
+import com.acm.auth.token.TokenVerifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Token issuance and verification. The verifier is shared by the
+ * resource-server decoder and the introspect/logout/refresh flows. The same {@link TokenVerifier} runs in the
+ * reactive verifier module, there against an in-memory revocation view.
+ * Revocations are checked in the database, falling back to the revocation
+ * snapshot while it is unavailable.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Value("${jwt.signer-key}")
+    private String signerKey;
+
+    @Value("${jwt.refreshable-duration}")
+    private long refreshableDuration;
+
+    @Value("${app.revocation-snapshot.database-retry-seconds:5}")
+    private long databaseRetrySeconds;
+
+    @Bean
+    public TokenEncoder tokenEncoder() {
+        return new TokenEncoder(signerKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Bean
+    public TokenVerifier tokenVerifier(InvalidatedTokenRepository invalidatedTokenRepository,
+            SnapshotRevocationView snapshotRevocationView, Clock clock,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        TimedRevocationView revocationView = new TimedRevocationView(
+                new FallbackRevocationView(invalidatedTokenRepository::existsById, snapshotRevocationView,
+                        Duration.ofSeconds(databaseRetrySeconds), clock),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        return new TokenVerifier(signerKey.getBytes(StandardCharsets.UTF_8), Duration.ofSeconds(refreshableDuration),
+                revocationView, clock);
+    }
+}
@@ -0,0 +1,37 @@
+package com.acm.auth.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.service.password.BreachedPasswordChecker;
+import com.acm.auth.service.password.BreachedPasswordCorpus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Breached-password screening for sign-up and password reset. Set
+ * {@code app.breached-passwords.file} to a corpus built with
+ * {@code BreachedPasswordCorpusBuilder}; leave it empty to disable.
+ */
+@Configuration
+@Slf4j
+public class PasswordScreeningConfig {
+
+    @Value("${app.breached-passwords.file:}")
+    private String corpusFile;
+
+    @Bean
+    public BreachedPasswordChecker breachedPasswordChecker() throws IOException {
+        if (corpusFile.isBlank()) {
+            log.info("Breached-password screening disabled (app.breached-passwords.file not set)");
+            return BreachedPasswordChecker.DISABLED;
+        }
+        BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(Path.of(corpusFile));
+        log.info("Breached-password corpus mapped: {} hashes from {}", corpus.size(), corpusFile);
+        return new BreachedPasswordChecker(corpus);
+    }
+}
@@ -0,0 +1,62 @@
+package com.acm.auth.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import com.acm.auth.enums.Permission;
+import com.acm.auth.service.authz.PermissionResolver;
+import com.acm.auth.service.authz.PermissionSet;
+import com.acm.auth.token.TokenVerifier;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds request authorization rules that test permission bits.
+ *
+ * The caller's roles come from the token's {@code scope} claim and are
+ * compiled once per role set by {@link PermissionResolver}, so a request
+ * costs one cache lookup and a mask comparison rather than evaluating an
+ * expression against the authority list.
+ */
+@Component
+@RequiredArgsConstructor
+public class PermissionAuthorizationManager {
+
+    private final PermissionResolver permissionResolver;
+
+    /**
+     * A rule granting access to callers holding all of the given permissions.
+     */
+    public AuthorizationManager<RequestAuthorizationContext> require(Permission... permissions) {
+        long mask = PermissionSet.mask(permissions);
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) ->
+                new AuthorizationDecision(permissionsOf(authentication.get()).hasAll(mask));
+    }
+
+    /**
+     * Like {@link #require}, but only for service-account tokens (those
+     * carrying {@code client_id}); user tokens are refused whatever their roles.
+     */
+    public AuthorizationManager<RequestAuthorizationContext> requireServiceAccount(Permission... permissions) {
+        long mask = PermissionSet.mask(permissions);
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) -> {
+            Authentication caller = authentication.get();
+            boolean serviceAccount = caller instanceof JwtAuthenticationToken token
+                    && token.getToken().hasClaim(TokenVerifier.CLIENT_ID_CLAIM);
+            return new AuthorizationDecision(serviceAccount && permissionsOf(caller).hasAll(mask));
+        };
+    }
+
+    private PermissionSet permissionsOf(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken token && token.isAuthenticated()) {
+            return permissionResolver.resolve(token.getToken().getClaimAsString("scope"));
+        }
+        return PermissionSet.NONE;
+    }
+}
@@ -0,0 +1,63 @@
+package com.acm.auth.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.repository.InvalidatedTokenRepository;
+import com.acm.auth.service.revocation.RevocationSnapshotSync;
+import com.acm.auth.token.SnapshotRevocationView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The on-disk revocation snapshot that keeps token verification working
+ * through database outages and makes restarts load only recent rows.
+ */
+@Configuration
+@Slf4j
+public class RevocationSnapshotConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.revocation-snapshot.file:./data/revocations.snap}")
+    private String file;
+
+    @Value("${app.revocation-snapshot.sync-seconds:5}")
+    private long syncSeconds;
+
+    @Value("${app.revocation-snapshot.write-seconds:60}")
+    private long writeSeconds;
+
+    @Bean
+    public SnapshotRevocationView snapshotRevocationView(Clock clock) {
+        Path path = Path.of(file);
+        try {
+            SnapshotRevocationView view = SnapshotRevocationView.open(path, clock);
+            log.info("Revocation snapshot mapped: {} entries up to {}", view.snapshotSize(), view.watermark());
+            return view;
+        } catch (IOException e) {
+            log.warn("Ignoring unusable revocation snapshot, loading all rows: {}", e.getMessage());
+            return SnapshotRevocationView.empty(path, clock);
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public RevocationSnapshotSync revocationSnapshotSync(SnapshotRevocationView snapshotRevocationView,
+            InvalidatedTokenRepository invalidatedTokenRepository, Clock clock) {
+        RevocationSnapshotSync sync = new RevocationSnapshotSync(
+                snapshotRevocationView,
+                invalidatedTokenRepository,
+                new RevocationSnapshotSync.Settings(Duration.ofSeconds(syncSeconds), Duration.ofSeconds(writeSeconds)),
+                clock,
+                ThreadFactories.named("revocation-snapshot-", virtualThreads));
+        sync.start();
+        return sync;
+    }
+}
@@ -0,0 +1,46 @@
+package com.acm.auth.config;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.service.revocation.RevocationStream;
+
+/**
+ * The server-sent revocation stream for resource servers.
+ */
+@Configuration
+public class RevocationStreamConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.revocation-stream.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${app.revocation-stream.subscriber-queue-capacity:256}")
+    private int subscriberQueueCapacity;
+
+    @Value("${app.revocation-stream.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${app.revocation-stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${app.revocation-stream.connection-timeout-minutes:30}")
+    private long connectionTimeoutMinutes;
+
+    @Bean(destroyMethod = "close")
+    public RevocationStream revocationStream(Clock clock) {
+        RevocationStream stream = new RevocationStream(
+                new RevocationStream.Settings(bufferSize, subscriberQueueCapacity, maxSubscribers,
+                        Duration.ofSeconds(heartbeatSeconds), Duration.ofMinutes(connectionTimeoutMinutes)),
+                clock,
+                ThreadFactories.named("revocation-stream-", virtualThreads));
+        stream.start();
+        return stream;
+    }
+}
@@ -2,6 +2,7 @@ package com.acm.auth.config;
 
 import org.springframework.security.config.Customizer;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +17,12 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.acm.auth.enums.Permission;
+import com.acm.auth.service.password.TimedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,6 +43,7 @@ public class SecurityConfig {
 
         // Constructor injection (DIP compliant) - easier to test and mock
         private final CustomJwtDecoder customJwtDecoder;
+        private final PermissionAuthorizationManager permissions;
 
         @Bean
         public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
@@ -49,17 +57,38 @@ public class SecurityConfig {
                                 .authorizeHttpRequests(auth -> auth
                                                 // Swagger endpoints
                                                 .requestMatchers(SWAGGER_ENDPOINTS).permitAll()
+                                                // Health checks; metrics and other actuator endpoints need a scraper
+                                                .requestMatchers("/actuator/health/**").permitAll()
+                                                .requestMatchers("/actuator/**")
+                                                .access(permissions.require(Permission.METRICS_READ))
                                                 // CORS preflight
                                                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                                                 // Public auth endpoints
                                                 .requestMatchers("/api/v1/auth/sign-in", "/api/v1/auth/sign-up",
                                                                 "/api/v1/auth/sign-up/verify-otp",
+                                                                "/api/v1/auth/availability",
                                                                 "/api/v1/auth/google",
                                                                 "/api/v1/auth/forgot-password",
                                                                 "/api/v1/auth/forgot-password/verify-otp",
                                                                 "/api/v1/auth/forgot-password/reset",
-                                                                "/api/v1/auth/introspect", "/api/v1/auth/refresh")
+                                                                "/api/v1/auth/introspect", "/api/v1/auth/refresh",
+                                                                "/api/v1/auth/token")
                                                 .permitAll()
+                                                // Administration, checked against the caller's permission bits
+                                                .requestMatchers(HttpMethod.GET, "/api/v1/roles", "/api/v1/roles/**")
+                                                .access(permissions.require(Permission.ROLE_READ))
+                                                .requestMatchers("/api/v1/roles", "/api/v1/roles/**")
+                                                .access(permissions.require(Permission.ROLE_WRITE))
+                                                .requestMatchers(HttpMethod.GET, "/api/v1/service-accounts",
+                                                                "/api/v1/service-accounts/**")
+                                                .access(permissions.require(Permission.SERVICE_ACCOUNT_READ))
+                                                .requestMatchers("/api/v1/service-accounts",
+                                                                "/api/v1/service-accounts/**")
+                                                .access(permissions.require(Permission.SERVICE_ACCOUNT_WRITE))
+                                                // Revocation feed, for resource servers' service accounts only
+                                                .requestMatchers("/api/v1/auth/revocations/stream")
+                                                .access(permissions.requireServiceAccount(
+                                                                Permission.REVOCATION_STREAM_READ))
                                                 // All other requests require authentication
                                                 .anyRequest().authenticated())
                                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -67,7 +96,8 @@ public class SecurityConfig {
                                                                 .decoder(customJwtDecoder)
                                                                 .jwtAuthenticationConverter(
                                                                                 jwtAuthenticationConverter()))
-                                                .authenticationEntryPoint(new JwtAuthenticationEntryPoint()));
+                                                .authenticationEntryPoint(new JwtAuthenticationEntryPoint())
+                                                .accessDeniedHandler(new JwtAccessDeniedHandler()));
 
                 log.info("Security configuration completed");
                 return httpSecurity.build();
@@ -86,7 +116,8 @@ public class SecurityConfig {
         }
 
         @Bean
-        PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder(10);
+        PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+                return new TimedPasswordEncoder(new BCryptPasswordEncoder(10),
+                                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
         }
 }
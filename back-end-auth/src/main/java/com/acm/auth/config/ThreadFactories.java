@@ -0,0 +1,22 @@
+package com.acm.auth.config;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the service's own background workers.
+ * With {@code spring.threads.virtual.enabled} they hand out virtual threads,
+ * like Tomcat and Spring's task executors do; otherwise named daemon
+ * platform threads.
+ */
+final class ThreadFactories {
+
+    private ThreadFactories() {
+        // Prevent instantiation
+    }
+
+    static ThreadFactory named(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+    }
+}
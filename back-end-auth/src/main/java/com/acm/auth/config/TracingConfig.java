@@ -0,0 +1,36 @@
+package com.acm.auth.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.acm.auth.service.tracing.FileSpanExporter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Span exporters. Spring Boot adds the OTLP exporter when
+ * {@code management.otlp.tracing.endpoint} is set; for local work
+ * {@code app.tracing.file} writes spans to a JSON-lines file instead (or as
+ * well). With neither, spans are still created, so trace ids reach the logs,
+ * but nothing is exported.
+ */
+@Configuration
+@Slf4j
+public class TracingConfig {
+
+    @Value("${app.tracing.file:}")
+    private String spanFile;
+
+    @Bean(destroyMethod = "")
+    @ConditionalOnExpression("!'${app.tracing.file:}'.isBlank()")
+    public FileSpanExporter fileSpanExporter() throws IOException {
+        log.info("Writing trace spans to {}", spanFile);
+        // Shut down by the tracer provider once its span processor has flushed
+        return FileSpanExporter.open(Path.of(spanFile));
+    }
+}
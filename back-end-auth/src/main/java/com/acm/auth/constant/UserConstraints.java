@@ -0,0 +1,16 @@
+package com.acm.auth.constant;
+
+/**
+ * Names of the unique constraints on the users table.
+ * Services translate violations of these into the matching error codes.
+ */
+public final class UserConstraints {
+
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_USERNAME = "uk_users_user_name";
+    public static final String UK_GOOGLE_ID = "uk_users_google_id";
+
+    private UserConstraints() {
+        // Prevent instantiation
+    }
+}
@@ -1,12 +1,10 @@
 package com.acm.auth.controller;
 
-import java.text.ParseException;
-
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import com.nimbusds.jose.JOSEException;
-
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,12 +18,16 @@ import com.acm.auth.dto.request.SignUpRequest;
 import com.acm.auth.dto.request.SignUpVerifyOtpRequest;
 import com.acm.auth.dto.response.ApiResponse;
 import com.acm.auth.dto.response.AuthenticationResponse;
+import com.acm.auth.dto.response.AvailabilityResponse;
+import com.acm.auth.dto.response.ClientCredentialsResponse;
 import com.acm.auth.dto.response.IntrospectResponse;
 import com.acm.auth.dto.response.OtpChallengeResponse;
 import com.acm.auth.dto.response.SignUpVerifyOtpResponse;
 import com.acm.auth.service.AuthenticationService;
 import com.acm.auth.service.GoogleAuthService;
 import com.acm.auth.service.RegistrationService;
+import com.acm.auth.service.availability.AvailabilityService;
+import com.acm.auth.service.client.ClientCredentialsService;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -36,6 +38,8 @@ public class AuthenticationController {
     private final AuthenticationService authenticationService;
     private final GoogleAuthService googleAuthService;
     private final RegistrationService registrationService;
+    private final AvailabilityService availabilityService;
+    private final ClientCredentialsService clientCredentialsService;
 
     @PostMapping("/sign-in")
     @Operation(summary = "Sign in user", description = "Authenticate user by username OR email + password")
@@ -66,6 +70,14 @@ public class AuthenticationController {
         return ApiResponse.success(result);
     }
 
+    @GetMapping("/availability")
+    @Operation(summary = "Check username/email availability", description = "Cheap availability check for the sign-up form; pass username, email or both")
+    public ApiResponse<AvailabilityResponse> checkAvailability(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        var result = availabilityService.check(username, email);
+        return ApiResponse.success(result);
+    }
+
     @PostMapping("/sign-up/verify-otp")
     @Operation(summary = "Verify sign-up OTP", description = "Verify OTP and activate account")
     public ApiResponse<SignUpVerifyOtpResponse> verifySignUpOtp(@RequestBody @Valid SignUpVerifyOtpRequest request) {
@@ -75,16 +87,26 @@ public class AuthenticationController {
 
     @PostMapping("/introspect")
     @Operation(summary = "Validate token", description = "Check if JWT token is still valid")
-    public ApiResponse<IntrospectResponse> introspect(@RequestBody IntrospectRequest request)
-            throws ParseException, JOSEException {
+    public ApiResponse<IntrospectResponse> introspect(@RequestBody IntrospectRequest request) {
         var result = authenticationService.introspect(request);
         return ApiResponse.success(result);
     }
 
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "Service token (client_credentials)",
+            description = "Issue a token to a service account; credentials via HTTP Basic or form fields")
+    public ClientCredentialsResponse token(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam("grant_type") String grantType,
+            @RequestParam(value = "client_id", required = false) String clientId,
+            @RequestParam(value = "client_secret", required = false) String clientSecret,
+            @RequestParam(value = "scope", required = false) String scope) {
+        return clientCredentialsService.issue(grantType, authorization, clientId, clientSecret, scope);
+    }
+
     @PostMapping("/refresh")
     @Operation(summary = "Refresh JWT token", description = "Generate new token when current token is about to expire")
-    public ApiResponse<AuthenticationResponse> refreshToken(@RequestBody RefreshRequest request)
-            throws ParseException, JOSEException {
+    public ApiResponse<AuthenticationResponse> refreshToken(@RequestBody RefreshRequest request) {
         var result = authenticationService.refreshToken(request);
         return ApiResponse.success(result);
     }
@@ -92,8 +114,7 @@ public class AuthenticationController {
     @PostMapping("/sign-out")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Sign out user", description = "Invalidate current JWT token")
-    public ApiResponse<Void> logout(@RequestBody LogoutRequest request)
-            throws ParseException, JOSEException {
+    public ApiResponse<Void> logout(@RequestBody LogoutRequest request) {
         authenticationService.logout(request);
         return ApiResponse.success(null);
     }
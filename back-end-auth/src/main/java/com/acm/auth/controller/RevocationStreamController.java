@@ -0,0 +1,35 @@
+package com.acm.auth.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.acm.auth.service.revocation.RevocationStream;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams token revocations to resource servers that verify tokens locally.
+ * Subscribers authenticate with a service-account token whose roles grant
+ * {@code REVOCATION_STREAM_READ}; user tokens are refused.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/revocations")
+@RequiredArgsConstructor
+@Tag(name = "Revocations", description = "Server-sent token revocation events")
+public class RevocationStreamController {
+
+    private final RevocationStream revocationStream;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to revocations",
+            description = "Emits 'revoked' events (jti, exp); send Last-Event-ID to resume after a reconnect")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return revocationStream.subscribe(lastEventId);
+    }
+}
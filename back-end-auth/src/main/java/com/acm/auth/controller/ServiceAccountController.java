@@ -0,0 +1,53 @@
+package com.acm.auth.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.acm.auth.dto.request.CreateServiceAccountRequest;
+import com.acm.auth.dto.response.ApiResponse;
+import com.acm.auth.dto.response.ServiceAccountResponse;
+import com.acm.auth.service.client.ServiceAccountService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST Controller for service accounts used with the client_credentials grant.
+ * Requires the SERVICE_ACCOUNT_READ or SERVICE_ACCOUNT_WRITE permission (see SecurityConfig).
+ */
+@RestController
+@RequestMapping("/api/v1/service-accounts")
+@RequiredArgsConstructor
+@Tag(name = "Service Accounts", description = "Machine clients for the client_credentials grant (permission required)")
+public class ServiceAccountController {
+
+    private final ServiceAccountService serviceAccountService;
+
+    @GetMapping
+    @Operation(summary = "List service accounts", description = "Retrieve all service accounts (without secrets)")
+    public ApiResponse<List<ServiceAccountResponse>> getAll() {
+        return ApiResponse.success(serviceAccountService.getAll());
+    }
+
+    @PostMapping
+    @Operation(summary = "Create service account", description = "Create a client; the secret is returned only once")
+    public ApiResponse<ServiceAccountResponse> create(@RequestBody @Valid CreateServiceAccountRequest request) {
+        return ApiResponse.success(serviceAccountService.create(request));
+    }
+
+    @PostMapping("/{clientId}/secret")
+    @Operation(summary = "Rotate client secret", description = "Issue a new secret; the old one stops working")
+    public ApiResponse<ServiceAccountResponse> rotateSecret(@PathVariable String clientId) {
+        return ApiResponse.success(serviceAccountService.rotateSecret(clientId));
+    }
+
+    @DeleteMapping("/{clientId}")
+    @Operation(summary = "Delete service account", description = "Remove a client; already issued tokens run out")
+    public ApiResponse<Void> delete(@PathVariable String clientId) {
+        serviceAccountService.delete(clientId);
+        return ApiResponse.success(null);
+    }
+}
@@ -1,5 +1,9 @@
 package com.acm.auth.dto.request;
 
+import java.util.Set;
+
+import com.acm.auth.enums.Permission;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -37,4 +41,7 @@ public class CreateRoleRequest {
     @Size(max = 100, message = "Redirect path cannot exceed 100 characters")
     @Builder.Default
     private String redirectPath = "/dashboard";
+
+    @Builder.Default
+    private Set<Permission> permissions = Set.of();
 }
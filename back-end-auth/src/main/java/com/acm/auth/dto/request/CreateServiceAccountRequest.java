@@ -0,0 +1,34 @@
+package com.acm.auth.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for creating a service account.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateServiceAccountRequest {
+
+    @NotBlank(message = "Client ID is required")
+    @Size(min = 3, max = 64, message = "Client ID must be between 3 and 64 characters")
+    @Pattern(regexp = "[A-Za-z0-9._-]+", message = "Client ID may only contain letters, digits, '.', '_' and '-'")
+    private String clientId;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name;
+
+    @NotEmpty(message = "At least one role is required")
+    private List<String> roles;
+}
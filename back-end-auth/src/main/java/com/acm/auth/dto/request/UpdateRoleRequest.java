@@ -1,5 +1,9 @@
 package com.acm.auth.dto.request;
 
+import java.util.Set;
+
+import com.acm.auth.enums.Permission;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
@@ -30,4 +34,7 @@ public class UpdateRoleRequest {
 
     @Size(max = 100, message = "Redirect path cannot exceed 100 characters")
     private String redirectPath;
+
+    /** Replaces the role's permissions when present. */
+    private Set<Permission> permissions;
 }
@@ -1,5 +1,9 @@
 package com.acm.auth.dto.response;
 
+import java.util.Set;
+
+import com.acm.auth.enums.Permission;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +24,5 @@ public class RoleResponse {
     private String description;
     private Integer priority;
     private String redirectPath;
+    private Set<Permission> permissions;
 }
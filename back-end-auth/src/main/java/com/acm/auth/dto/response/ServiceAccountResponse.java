@@ -0,0 +1,30 @@
+package com.acm.auth.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for service account data. The client secret is only returned
+ * when it is created or rotated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ServiceAccountResponse {
+
+    private String clientId;
+    private String name;
+    private List<String> roles;
+    private Boolean enabled;
+    private LocalDateTime createdAt;
+    private String clientSecret;
+}
@@ -2,12 +2,16 @@ package com.acm.auth.entity;
 
 import java.util.Date;
 
+import org.hibernate.annotations.CreationTimestamp;
+
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
 @Entity
-@Table(name = "invalidated_tokens")
+@Table(name = "invalidated_tokens", indexes = {
+        @Index(name = "idx_invalidated_tokens_created_at", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,4 +25,9 @@ public class InvalidatedToken {
 
     @Column(name = "expiry_time", nullable = false)
     Date expiryTime;
+
+    // Lets revocation snapshots load only the rows added since they were written
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    Date createdAt;
 }
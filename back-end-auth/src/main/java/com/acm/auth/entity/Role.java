@@ -1,5 +1,13 @@
 package com.acm.auth.entity;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.acm.auth.enums.Permission;
+
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -43,4 +51,20 @@ public class Role {
     @Builder.Default
     @Column(name = "redirect_path", length = 100)
     String redirectPath = "/dashboard";
+
+    /**
+     * Permissions granted to holders of this role. Loaded lazily; authorization
+     * reads them through {@code RoleRepository#findByCodeIn}, which fetches
+     * them together with the roles.
+     */
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"))
+    @Enumerated(EnumType.STRING)
+    // Plain VARCHAR rather than a MySQL ENUM, so new permissions need no column change
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "permission", length = 50)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Set<Permission> permissions = new HashSet<>();
 }
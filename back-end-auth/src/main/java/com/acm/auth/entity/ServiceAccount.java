@@ -0,0 +1,50 @@
+package com.acm.auth.entity;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A machine client that obtains tokens through the client_credentials grant.
+ * Its roles bound the scopes it may request.
+ */
+@Entity
+@Table(name = "service_accounts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ServiceAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "service_account_id")
+    Long id;
+
+    @Column(name = "client_id", unique = true, nullable = false, length = 64)
+    String clientId;
+
+    @Column(name = "name", nullable = false, length = 100)
+    String name;
+
+    /**
+     * Base64 HMAC-SHA256 of the client secret; see {@code ClientSecretHasher}.
+     */
+    @Column(name = "secret_hash", nullable = false, length = 64)
+    String secretHash;
+
+    @Builder.Default
+    @Column(name = "enabled", nullable = false)
+    Boolean enabled = true;
+
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "service_account_roles", joinColumns = @JoinColumn(name = "service_account_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
+    Set<Role> roles;
+
+    @Column(name = "created_at")
+    LocalDateTime createdAt;
+}
@@ -3,14 +3,21 @@ package com.acm.auth.entity;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import com.acm.auth.constant.UserConstraints;
 import com.acm.auth.enums.UserStatus;
+import com.acm.auth.service.availability.UserIdentifierListener;
 
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
 @Entity
-@Table(name = "users")
+@EntityListeners(UserIdentifierListener.class)
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = UserConstraints.UK_USERNAME, columnNames = "user_name"),
+        @UniqueConstraint(name = UserConstraints.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = UserConstraints.UK_GOOGLE_ID, columnNames = "google_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,10 +30,10 @@ public class User {
     @Column(name = "user_id")
     Long id;
 
-    @Column(name = "user_name", unique = true, length = 255)
+    @Column(name = "user_name", length = 255)
     String username;
 
-    @Column(name = "email", unique = true)
+    @Column(name = "email")
     String email;
 
     @Column(name = "phone", length = 30)
@@ -46,7 +53,7 @@ public class User {
     @Column(name = "locked_until")
     LocalDateTime lockedUntil;
 
-    @Column(name = "google_id", unique = true)
+    @Column(name = "google_id")
     String googleId;
 
     @ManyToMany(cascade = { CascadeType.MERGE }, fetch = FetchType.EAGER)
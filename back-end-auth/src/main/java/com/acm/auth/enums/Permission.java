@@ -0,0 +1,16 @@
+package com.acm.auth.enums;
+
+/**
+ * Fine-grained actions a role can grant. Stored by name on the role; at
+ * runtime each constant is one bit of a
+ * {@link com.acm.auth.service.authz.PermissionSet}, so there can be at most
+ * 64 of them.
+ */
+public enum Permission {
+    ROLE_READ,
+    ROLE_WRITE,
+    SERVICE_ACCOUNT_READ,
+    SERVICE_ACCOUNT_WRITE,
+    REVOCATION_STREAM_READ,
+    METRICS_READ
+}
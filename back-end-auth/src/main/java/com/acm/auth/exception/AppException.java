@@ -2,17 +2,30 @@ package com.acm.auth.exception;
 
 import lombok.Getter;
 
+/**
+ * A business failure reported to the client with its {@link ErrorCode}.
+ *
+ * Client errors (4xx) are expected - wrong passwords, expired OTPs, invalid
+ * tokens - and are thrown without a stack trace: filling one in costs far
+ * more than the rest of a rejected request, and the handler never logs it.
+ * Server errors keep theirs.
+ */
 @Getter
 public class AppException extends RuntimeException {
     private final ErrorCode errorCode;
+    private final boolean defaultMessage;
 
     public AppException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
-        this.errorCode = errorCode;
+        this(errorCode, errorCode.getMessage(), true);
     }
 
     public AppException(ErrorCode errorCode, String customMessage) {
-        super(customMessage);
+        this(errorCode, customMessage, false);
+    }
+
+    private AppException(ErrorCode errorCode, String message, boolean defaultMessage) {
+        super(message, null, false, errorCode.getHttpStatus().is5xxServerError());
         this.errorCode = errorCode;
+        this.defaultMessage = defaultMessage;
     }
 }
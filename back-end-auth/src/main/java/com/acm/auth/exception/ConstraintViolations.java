@@ -0,0 +1,32 @@
+package com.acm.auth.exception;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Identifies which named constraint a failed insert or update violated.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns true if {@code e} was caused by the constraint with the given name.
+     * Drivers report it bare or qualified by table ({@code users.uk_users_email}),
+     * so the reported name is matched by suffix, falling back to the message text.
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).endsWith(expected);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(expected);
+    }
+}
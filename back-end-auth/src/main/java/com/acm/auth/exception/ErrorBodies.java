@@ -0,0 +1,36 @@
+package com.acm.auth.exception;
+
+import com.acm.auth.dto.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The JSON error body of every {@link ErrorCode} with its default message,
+ * serialized once so a rejected request writes a shared byte array instead
+ * of building and serializing an {@link ApiResponse}.
+ */
+final class ErrorBodies {
+
+    private static final byte[][] BODIES = serializeAll();
+
+    private ErrorBodies() {
+    }
+
+    static byte[] of(ErrorCode errorCode) {
+        return BODIES[errorCode.ordinal()];
+    }
+
+    private static byte[][] serializeAll() {
+        ObjectMapper mapper = new ObjectMapper();
+        ErrorCode[] codes = ErrorCode.values();
+        byte[][] bodies = new byte[codes.length][];
+        for (ErrorCode code : codes) {
+            try {
+                bodies[code.ordinal()] = mapper.writeValueAsBytes(ApiResponse.error(code.getCode(), code.getMessage()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize error body for " + code, e);
+            }
+        }
+        return bodies;
+    }
+}
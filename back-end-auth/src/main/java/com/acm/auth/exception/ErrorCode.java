@@ -30,6 +30,15 @@ public enum ErrorCode {
         CANNOT_DELETE_PREDEFINED_ROLE(HttpStatus.FORBIDDEN, "CANNOT_DELETE_PREDEFINED_ROLE",
                         "Cannot delete predefined roles (ADMIN, USER)."),
 
+        // Service account errors
+        INVALID_CLIENT(HttpStatus.UNAUTHORIZED, "INVALID_CLIENT", "Client authentication failed."),
+        UNSUPPORTED_GRANT_TYPE(HttpStatus.BAD_REQUEST, "UNSUPPORTED_GRANT_TYPE",
+                        "Only the client_credentials grant is supported."),
+        INVALID_SCOPE(HttpStatus.BAD_REQUEST, "INVALID_SCOPE", "Requested scope is not granted to this client."),
+        SERVICE_ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND, "SERVICE_ACCOUNT_NOT_FOUND", "Service account not found."),
+        SERVICE_ACCOUNT_ALREADY_EXISTS(HttpStatus.CONFLICT, "SERVICE_ACCOUNT_ALREADY_EXISTS",
+                        "Service account with this client ID already exists."),
+
         // Validation errors
         INVALID_REQUEST(HttpStatus.BAD_REQUEST, "INVALID_REQUEST", "Invalid request data."),
 
@@ -48,6 +57,18 @@ public enum ErrorCode {
         // Google OAuth errors
         GOOGLE_AUTH_FAILED(HttpStatus.UNAUTHORIZED, "GOOGLE_AUTH_FAILED", "Google authentication failed."),
 
+        // Email delivery errors
+        EMAIL_DELIVERY_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "EMAIL_DELIVERY_UNAVAILABLE",
+                        "Email delivery is temporarily unavailable. Please try again later."),
+
+        // Password screening errors
+        PASSWORD_BREACHED(HttpStatus.BAD_REQUEST, "PASSWORD_BREACHED",
+                        "This password has appeared in a data breach. Please choose a different one."),
+
+        // Revocation stream errors
+        REVOCATION_STREAM_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "REVOCATION_STREAM_BUSY",
+                        "Too many revocation stream subscribers. Please try again later."),
+
         // Server errors
         INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "Internal server error.");
 
@@ -0,0 +1,67 @@
+package com.acm.auth.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how often each {@link ErrorCode} is logged, so that a flood of
+ * failed sign-ins produces a few lines per second instead of one per request.
+ *
+ * Each code may log {@code perSecond} times per one-second window; the rest
+ * are counted and reported with the next line that gets through.
+ */
+final class ErrorLogThrottle {
+
+    static final long SUPPRESSED = -1;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int perSecond;
+    private final LongSupplier nanoTime;
+    private final Window[] windows;
+
+    ErrorLogThrottle(int perSecond) {
+        this(perSecond, System::nanoTime);
+    }
+
+    ErrorLogThrottle(int perSecond, LongSupplier nanoTime) {
+        this.perSecond = perSecond;
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        this.windows = new Window[ErrorCode.values().length];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window(now);
+        }
+    }
+
+    /**
+     * @return {@link #SUPPRESSED} if this occurrence should not be logged,
+     *         otherwise the number of occurrences suppressed since the last
+     *         one that was
+     */
+    long tryAcquire(ErrorCode errorCode) {
+        Window window = windows[errorCode.ordinal()];
+        long now = nanoTime.getAsLong();
+        long start = window.start.get();
+        if (now - start >= WINDOW_NANOS && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+        }
+        if (window.logged.incrementAndGet() <= perSecond) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return SUPPRESSED;
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.acm.auth.exception;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,16 +15,45 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final ErrorLogThrottle logThrottle;
+
+    public GlobalExceptionHandler(@Value("${app.errors.warn-logs-per-second:20}") int warnLogsPerSecond) {
+        this.logThrottle = new ErrorLogThrottle(warnLogsPerSecond);
+    }
+
     @ExceptionHandler(AppException.class)
-    public ResponseEntity<ApiResponse<Void>> handleAppException(AppException ex) {
+    public ResponseEntity<?> handleAppException(AppException ex) {
         ErrorCode errorCode = ex.getErrorCode();
-        log.warn("Application exception: {} - {}", errorCode.getCode(), ex.getMessage());
+        logAppException(errorCode, ex);
 
+        if (ex.isDefaultMessage()) {
+            return ResponseEntity
+                    .status(errorCode.getHttpStatus())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ErrorBodies.of(errorCode));
+        }
         return ResponseEntity
                 .status(errorCode.getHttpStatus())
                 .body(ApiResponse.error(errorCode.getCode(), ex.getMessage()));
     }
 
+    private void logAppException(ErrorCode errorCode, AppException ex) {
+        if (errorCode.getHttpStatus().is5xxServerError()) {
+            log.warn("Application exception: {} - {}", errorCode.getCode(), ex.getMessage(), ex);
+            return;
+        }
+        long suppressed = logThrottle.tryAcquire(errorCode);
+        if (suppressed == ErrorLogThrottle.SUPPRESSED) {
+            return;
+        }
+        if (suppressed > 0) {
+            log.warn("Application exception: {} - {} ({} more suppressed)", errorCode.getCode(), ex.getMessage(),
+                    suppressed);
+        } else {
+            log.warn("Application exception: {} - {}", errorCode.getCode(), ex.getMessage());
+        }
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationException(MethodArgumentNotValidException ex) {
         String message = ex.getBindingResult().getFieldErrors().stream()
@@ -1,5 +1,8 @@
 package com.acm.auth.repository;
 
+import java.util.Date;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,4 +10,8 @@ import com.acm.auth.entity.InvalidatedToken;
 
 @Repository
 public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+
+    List<InvalidatedToken> findByExpiryTimeAfter(Date now);
+
+    List<InvalidatedToken> findByExpiryTimeAfterAndCreatedAtAfter(Date now, Date createdAfter);
 }
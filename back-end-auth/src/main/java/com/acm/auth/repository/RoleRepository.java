@@ -1,7 +1,10 @@
 package com.acm.auth.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +13,10 @@ import com.acm.auth.entity.Role;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByCode(String code);
+
+    @EntityGraph(attributePaths = "permissions")
+    Optional<Role> findWithPermissionsByCode(String code);
+
+    @EntityGraph(attributePaths = "permissions")
+    List<Role> findByCodeIn(Collection<String> codes);
 }
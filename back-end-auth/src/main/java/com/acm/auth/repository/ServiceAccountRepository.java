@@ -0,0 +1,22 @@
+package com.acm.auth.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.acm.auth.entity.ServiceAccount;
+
+@Repository
+public interface ServiceAccountRepository extends JpaRepository<ServiceAccount, Long> {
+
+    /**
+     * Find a service account by client ID with roles eagerly loaded.
+     */
+    @Query("SELECT s FROM ServiceAccount s LEFT JOIN FETCH s.roles WHERE s.clientId = :clientId")
+    Optional<ServiceAccount> findByClientIdWithRoles(@Param("clientId") String clientId);
+
+    boolean existsByClientId(String clientId);
+}
@@ -1,17 +1,35 @@
 package com.acm.auth.repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.acm.auth.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Id, username and email of a user, without loading the entity.
+     */
+    interface Identifiers {
+        Long getId();
+
+        String getUsername();
+
+        String getEmail();
+    }
+
     Optional<User> findByEmail(String email);
 
     Optional<User> findByUsername(String username);
@@ -31,4 +49,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.googleId = :googleId")
     Optional<User> findByGoogleIdWithRoles(@Param("googleId") String googleId);
+
+    /**
+     * Find the users matching a Google account by Google ID or email, with roles,
+     * in a single query. At most two rows: the linked account and an unlinked
+     * account with the same email.
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.googleId = :googleId OR u.email = :email")
+    List<User> findGoogleCandidatesWithRoles(@Param("googleId") String googleId, @Param("email") String email);
+
+    /**
+     * Link a Google ID to an existing account, filling in a missing full name.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.googleId = :googleId, "
+            + "u.fullName = CASE WHEN u.fullName IS NULL OR u.fullName = '' THEN :fullName ELSE u.fullName END "
+            + "WHERE u.id = :id")
+    int linkGoogleId(@Param("id") Long id, @Param("googleId") String googleId, @Param("fullName") String fullName);
+
+    /**
+     * All usernames starting with the given prefix, used to pick a free numeric suffix in one query.
+     * The prefix is a LIKE pattern: {@code \}, {@code %} and {@code _} in it must be escaped with a backslash.
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username LIKE CONCAT(:prefix, '%') ESCAPE '\\'")
+    List<String> findUsernamesStartingWith(@Param("prefix") String prefix);
+
+    /**
+     * Streams the username and email of every user; must run inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u")
+    Stream<Identifiers> streamIdentifiers();
+
+    /**
+     * Identifiers of the users with an id above {@code afterId}, a range scan on the primary key.
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u WHERE u.id > :afterId")
+    List<Identifiers> findIdentifiersAfter(@Param("afterId") long afterId);
 }
@@ -1,7 +1,5 @@
 package com.acm.auth.service;
 
-import java.text.ParseException;
-
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -9,8 +7,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import com.nimbusds.jose.JOSEException;
-
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.acm.auth.dto.request.AuthenticationRequest;
@@ -25,8 +22,13 @@ import com.acm.auth.enums.UserStatus;
 import com.acm.auth.exception.AppException;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.UserRepository;
+import com.acm.auth.service.audit.AuthEvent;
+import com.acm.auth.service.audit.AuthEventLog;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.auth.token.VerifiedToken;
 
 @Service
+@Observed(name = "auth.service")
 @RequiredArgsConstructor
 @Slf4j
 public class AuthenticationService {
@@ -34,6 +36,8 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenService jwtTokenService;
+    private final RefreshCoalescer refreshCoalescer;
+    private final AuthEventLog authEventLog;
 
     /**
      * Authenticate user by identifier (email OR username) and password.
@@ -41,29 +45,26 @@ public class AuthenticationService {
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         String identifier = request.getEffectiveIdentifier();
         if (identifier == null || identifier.isBlank()) {
-            log.warn("Authentication failed - no identifier provided");
+            authEventLog.record(AuthEvent.SIGN_IN_MISSING_IDENTIFIER, null);
             throw new AppException(ErrorCode.IDENTIFIER_REQUIRED);
         }
 
-        log.info("Authentication attempt for identifier: {}", identifier);
-
         User user = userRepository
                 .findByIdentifierWithRoles(identifier)
                 .orElseThrow(() -> {
-                    log.warn("Authentication failed - identifier not found: {}", identifier);
+                    authEventLog.record(AuthEvent.SIGN_IN_UNKNOWN_IDENTIFIER, identifier);
                     return new AppException(ErrorCode.INVALID_CREDENTIALS);
                 });
 
         boolean authenticated = passwordEncoder.matches(request.getPassword(), user.getPassword());
         if (!authenticated) {
-            log.warn("Authentication failed - invalid password for identifier: {}", identifier);
+            authEventLog.record(AuthEvent.SIGN_IN_BAD_PASSWORD, identifier);
             throw new AppException(ErrorCode.INVALID_CREDENTIALS);
         }
 
         // Check user status
         if (user.getStatus() != UserStatus.ACTIVE) {
-            log.warn("Authentication failed - user not active. Identifier: {}, Status: {}",
-                    identifier, user.getStatus());
+            authEventLog.record(AuthEvent.SIGN_IN_NOT_ACTIVE, identifier, user.getStatus());
             if (user.getStatus() == UserStatus.LOCKED) {
                 throw new AppException(ErrorCode.USER_LOCKED);
             } else if (user.getStatus() == UserStatus.PENDING_VERIFICATION) {
@@ -75,13 +76,13 @@ public class AuthenticationService {
         }
 
         if (CollectionUtils.isEmpty(user.getRoles())) {
-            log.warn("Authentication failed - no roles assigned to user: {}", identifier);
+            authEventLog.record(AuthEvent.SIGN_IN_NO_ROLE, identifier);
             throw new AppException(ErrorCode.ROLE_MISSING);
         }
 
         String primaryRole = determinePrimaryRole(user);
         var token = jwtTokenService.generateToken(user, primaryRole);
-        log.info("Authentication successful for identifier: {} - role: {}", identifier, primaryRole);
+        authEventLog.record(AuthEvent.SIGN_IN_SUCCEEDED, identifier, primaryRole);
 
         return buildAuthResponse(user, primaryRole, token);
     }
@@ -133,7 +134,7 @@ public class AuthenticationService {
         return null;
     }
 
-    public IntrospectResponse introspect(IntrospectRequest request) throws JOSEException, ParseException {
+    public IntrospectResponse introspect(IntrospectRequest request) {
         var token = request.getToken();
         boolean isValid = true;
 
@@ -146,27 +147,43 @@ public class AuthenticationService {
         return IntrospectResponse.builder().valid(isValid).build();
     }
 
-    public void logout(LogoutRequest request) throws ParseException, JOSEException {
+    public void logout(LogoutRequest request) {
         try {
-            var signToken = jwtTokenService.verifyToken(request.getToken(), true);
-            String jit = signToken.getJWTClaimsSet().getJWTID();
-            var expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
-            jwtTokenService.invalidateToken(jit, expiryTime);
+            var verified = jwtTokenService.verifyToken(request.getToken(), true);
+            String jit = verified.jwtId();
+            jwtTokenService.invalidateToken(jit, verified.claims().getExpirationTime());
             log.info("Token invalidated successfully - JIT: {}", jit);
         } catch (AppException exception) {
             log.info("Logout - Token already expired or invalid");
         }
     }
 
-    public AuthenticationResponse refreshToken(RefreshRequest request) throws ParseException, JOSEException {
-        var signedJWT = jwtTokenService.verifyToken(request.getToken(), true);
+    /**
+     * Rotates the token. Parallel refreshes of the same token (an SPA firing
+     * several calls at expiry) share one rotation and receive the same new token.
+     * Service tokens are never refreshed; clients request a new one instead.
+     */
+    public AuthenticationResponse refreshToken(RefreshRequest request) {
+        var verified = jwtTokenService.verifyForRefresh(request.getToken());
+        rejectServiceToken(verified);
+        if (verified.jwtId() == null) {
+            return rotate(verified);
+        }
+        return refreshCoalescer.refresh(verified.jwtId(), () -> rotate(verified));
+    }
 
-        var jit = signedJWT.getJWTClaimsSet().getJWTID();
-        var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-        jwtTokenService.invalidateToken(jit, expiryTime);
+    private AuthenticationResponse rotate(VerifiedToken verified) {
+        rejectServiceToken(verified);
+        var claims = verified.claims();
+        if (verified.jwtId() != null) {
+            if (jwtTokenService.isInvalidated(verified.jwtId())) {
+                throw new AppException(ErrorCode.UNAUTHENTICATED);
+            }
+            jwtTokenService.invalidateToken(verified.jwtId(), claims.getExpirationTime());
+        }
 
-        var email = signedJWT.getJWTClaimsSet().getClaim("email");
-        String identifier = email != null ? email.toString() : signedJWT.getJWTClaimsSet().getSubject();
+        var email = claims.getClaim("email");
+        String identifier = email != null ? email.toString() : claims.getSubject();
 
         var user = userRepository.findByIdentifierWithRoles(identifier)
                 .orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
@@ -177,6 +194,12 @@ public class AuthenticationService {
         return buildAuthResponse(user, primaryRole, token);
     }
 
+    private static void rejectServiceToken(VerifiedToken verified) {
+        if (verified.claims().getClaim(TokenVerifier.CLIENT_ID_CLAIM) != null) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+    }
+
     /**
      * Determines the primary role based on priority (highest priority wins).
      * This is now configurable via database - no need to modify code for new roles.
@@ -1,7 +1,19 @@
 package com.acm.auth.service;
 
+import java.util.Locale;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+
 import com.acm.auth.enums.OtpPurpose;
 
 public interface EmailService {
-    void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds);
+
+    /**
+     * Sends an OTP email localized for the current request's locale.
+     */
+    default void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds) {
+        sendOtpEmail(to, otp, purpose, expiresInSeconds, LocaleContextHolder.getLocale());
+    }
+
+    void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds, Locale locale);
 }
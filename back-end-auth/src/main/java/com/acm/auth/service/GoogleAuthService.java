@@ -1,48 +1,71 @@
 package com.acm.auth.service;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import com.acm.auth.constant.UserConstraints;
 import com.acm.auth.dto.response.AuthenticationResponse;
 import com.acm.auth.entity.Role;
 import com.acm.auth.entity.User;
 import com.acm.auth.enums.UserStatus;
 import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ConstraintViolations;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.RoleRepository;
 import com.acm.auth.repository.UserRepository;
+import com.acm.auth.service.audit.AuthEvent;
+import com.acm.auth.service.audit.AuthEventLog;
+import com.acm.auth.service.google.GoogleIdTokenValidator;
 
 @Service
+@Observed(name = "auth.service")
 @RequiredArgsConstructor
 @Slf4j
 public class GoogleAuthService {
 
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+
+    private record CachedRole(Role role, long loadedAtMillis) {
+    }
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final JwtTokenService jwtTokenService;
+    private final GoogleIdTokenValidator googleIdTokenValidator;
+    private final AuthEventLog authEventLog;
+    private final Clock clock;
+
+    /**
+     * The USER role new Google accounts are given, so a first login costs the
+     * user and user_roles inserts only; reloaded after
+     * {@code app.authorization.permission-cache-seconds} to pick up role edits.
+     */
+    private volatile CachedRole defaultRole;
 
-    @Value("${google.client-id}")
-    private String googleClientId;
+    @Value("${app.authorization.permission-cache-seconds:60}")
+    private long roleCacheSeconds;
 
     /**
      * Authenticate user via Google ID token.
      * Verifies the token, finds or creates the user, and returns a JWT.
+     * Not transactional: each write commits on its own so a unique-constraint
+     * violation from a concurrent first login can be recovered by re-reading.
      */
-    @Transactional
     public AuthenticationResponse authenticateWithGoogle(String idTokenString) {
         // 1. Verify Google ID Token
         GoogleIdToken.Payload payload = verifyGoogleToken(idTokenString);
@@ -51,14 +74,14 @@ public class GoogleAuthService {
         String email = payload.getEmail();
         String fullName = (String) payload.get("name");
 
-        log.info("Google authentication for email: {}, googleId: {}", email, googleId);
+        log.debug("Google authentication for email: {}, googleId: {}", email, googleId);
 
         // 2. Find or create user
         User user = findOrCreateUser(googleId, email, fullName);
 
         // 3. Check user status
         if (user.getStatus() != UserStatus.ACTIVE) {
-            log.warn("Google auth failed - user not active. Email: {}, Status: {}", email, user.getStatus());
+            authEventLog.record(AuthEvent.GOOGLE_SIGN_IN_NOT_ACTIVE, email, user.getStatus());
             if (user.getStatus() == UserStatus.LOCKED) {
                 throw new AppException(ErrorCode.USER_LOCKED);
             } else if (user.getStatus() == UserStatus.INACTIVE) {
@@ -69,7 +92,7 @@ public class GoogleAuthService {
 
         // 4. Ensure roles exist
         if (CollectionUtils.isEmpty(user.getRoles())) {
-            log.warn("Google auth - no roles assigned to user: {}", email);
+            authEventLog.record(AuthEvent.GOOGLE_SIGN_IN_NO_ROLE, email);
             throw new AppException(ErrorCode.ROLE_MISSING);
         }
 
@@ -77,91 +100,146 @@ public class GoogleAuthService {
         String primaryRole = determinePrimaryRole(user);
         String token = jwtTokenService.generateToken(user, primaryRole);
 
-        log.info("Google authentication successful for: {} - role: {}", email, primaryRole);
+        authEventLog.record(AuthEvent.GOOGLE_SIGN_IN_SUCCEEDED, email, primaryRole);
 
         return buildAuthResponse(user, primaryRole, token);
     }
 
     /**
-     * Verify Google ID Token using Google API Client.
+     * Verify Google ID Token against the cached Google signing keys.
      */
     private GoogleIdToken.Payload verifyGoogleToken(String idTokenString) {
         try {
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(), GsonFactory.getDefaultInstance())
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
-
-            GoogleIdToken idToken = verifier.verify(idTokenString);
-            if (idToken == null) {
-                log.warn("Google ID token verification failed - invalid token");
+            GoogleIdToken.Payload payload = googleIdTokenValidator.verify(idTokenString);
+            if (payload == null) {
+                authEventLog.record(AuthEvent.GOOGLE_TOKEN_REJECTED, null);
                 throw new AppException(ErrorCode.GOOGLE_AUTH_FAILED);
             }
 
-            return idToken.getPayload();
+            return payload;
         } catch (AppException e) {
             throw e;
         } catch (Exception e) {
-            log.error("Google ID token verification error", e);
+            authEventLog.record(AuthEvent.GOOGLE_TOKEN_REJECTED, null, e.getMessage());
             throw new AppException(ErrorCode.GOOGLE_AUTH_FAILED, "Failed to verify Google token: " + e.getMessage());
         }
     }
 
     /**
      * Find existing user by googleId or email, or create a new one.
+     * An existing user is resolved with one query; linking or creating adds one statement.
      */
     private User findOrCreateUser(String googleId, String email, String fullName) {
-        // Try to find by Google ID first
-        var byGoogleId = userRepository.findByGoogleIdWithRoles(googleId);
-        if (byGoogleId.isPresent()) {
-            return byGoogleId.get();
+        User existing = findGoogleCandidate(googleId, email);
+        if (existing != null) {
+            return linkGoogleAccount(existing, googleId, fullName);
         }
+        return createGoogleUser(googleId, email, fullName);
+    }
 
-        // Try to find by email (existing user linking Google account)
-        var byEmail = userRepository.findByIdentifierWithRoles(email);
-        if (byEmail.isPresent()) {
-            User existingUser = byEmail.get();
-            // Link Google ID to existing account
-            existingUser.setGoogleId(googleId);
-            if (existingUser.getFullName() == null || existingUser.getFullName().isBlank()) {
-                existingUser.setFullName(fullName);
-            }
-            return userRepository.save(existingUser);
-        }
+    /**
+     * Prefer the account already linked to the Google ID over one that only shares the email.
+     */
+    private User findGoogleCandidate(String googleId, String email) {
+        List<User> candidates = userRepository.findGoogleCandidatesWithRoles(googleId, email);
+        return candidates.stream()
+                .filter(user -> googleId.equals(user.getGoogleId()))
+                .findFirst()
+                .orElse(candidates.isEmpty() ? null : candidates.get(0));
+    }
 
-        // Create new user
-        return createGoogleUser(googleId, email, fullName);
+    /**
+     * Link Google ID to an existing account (existing user linking Google account).
+     */
+    private User linkGoogleAccount(User user, String googleId, String fullName) {
+        if (googleId.equals(user.getGoogleId())) {
+            return user;
+        }
+        userRepository.linkGoogleId(user.getId(), googleId, fullName);
+        user.setGoogleId(googleId);
+        if (user.getFullName() == null || user.getFullName().isBlank()) {
+            user.setFullName(fullName);
+        }
+        return user;
     }
 
     /**
      * Create a new user from Google account info.
+     * The insert is attempted with the email local-part as username; only if it
+     * collides is a free numeric suffix picked with a single prefix query.
      */
     private User createGoogleUser(String googleId, String email, String fullName) {
-        Role userRole = roleRepository.findByCode("USER")
+        Role userRole = defaultRole();
+
+        String baseUsername = email.split("@")[0];
+        String username = baseUsername;
+        for (int attempt = 1; ; attempt++) {
+            User user = User.builder()
+                    .googleId(googleId)
+                    .email(email)
+                    .username(username)
+                    .fullName(fullName)
+                    .password(null) // No password for Google-only users
+                    .status(UserStatus.ACTIVE) // Google users are automatically verified
+                    .roles(Set.of(userRole))
+                    .joinedDate(LocalDateTime.now())
+                    .build();
+            try {
+                user = userRepository.saveAndFlush(user);
+                log.info("New Google user created: {} ({})", email, username);
+                return user;
+            } catch (DataIntegrityViolationException e) {
+                // Either a concurrent first login for the same account won, or the username is taken
+                User existing = ConstraintViolations.isViolationOf(e, UserConstraints.UK_USERNAME)
+                        ? null
+                        : findGoogleCandidate(googleId, email);
+                if (existing != null) {
+                    log.info("Google user {} was created concurrently, reusing it", email);
+                    return linkGoogleAccount(existing, googleId, fullName);
+                }
+                if (attempt >= MAX_CREATE_ATTEMPTS) {
+                    throw new AppException(ErrorCode.INTERNAL_ERROR, "Could not allocate a username for " + email);
+                }
+                username = nextFreeUsername(baseUsername);
+            }
+        }
+    }
+
+    private Role defaultRole() {
+        long now = clock.millis();
+        CachedRole cached = defaultRole;
+        if (cached != null && now - cached.loadedAtMillis() < roleCacheSeconds * 1000) {
+            return cached.role();
+        }
+        Role role = roleRepository.findByCode("USER")
                 .orElseThrow(() -> new AppException(ErrorCode.INTERNAL_ERROR, "Default role USER not found"));
+        defaultRole = new CachedRole(role, now);
+        return role;
+    }
 
-        // Generate a unique username from email
-        String username = email.split("@")[0];
+    /**
+     * Smallest {@code base<n>} (n >= 1) not yet taken, compared case-insensitively
+     * like the database collation.
+     */
+    private String nextFreeUsername(String baseUsername) {
+        Set<String> taken = new HashSet<>();
+        for (String username : userRepository.findUsernamesStartingWith(escapeLike(baseUsername))) {
+            taken.add(username.toLowerCase(Locale.ROOT));
+        }
+        String base = baseUsername.toLowerCase(Locale.ROOT);
         int suffix = 1;
-        while (userRepository.existsByUsername(username)) {
-            username = email.split("@")[0] + suffix;
+        while (taken.contains(base + suffix)) {
             suffix++;
         }
+        return baseUsername + suffix;
+    }
 
-        User user = User.builder()
-                .googleId(googleId)
-                .email(email)
-                .username(username)
-                .fullName(fullName)
-                .password(null) // No password for Google-only users
-                .status(UserStatus.ACTIVE) // Google users are automatically verified
-                .roles(Set.of(userRole))
-                .joinedDate(LocalDateTime.now())
-                .build();
-
-        user = userRepository.save(user);
-        log.info("New Google user created: {} ({})", email, username);
-        return user;
+    /**
+     * Email local parts may contain {@code _} and {@code %}, which LIKE would
+     * otherwise treat as wildcards.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private String determinePrimaryRole(User user) {
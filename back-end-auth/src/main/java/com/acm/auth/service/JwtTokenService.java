@@ -1,46 +1,67 @@
 package com.acm.auth.service;
 
-import java.text.ParseException;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.StringJoiner;
-import java.util.UUID;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
-import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
-
 import lombok.extern.slf4j.Slf4j;
 import com.acm.auth.entity.InvalidatedToken;
+import com.acm.auth.entity.Role;
 import com.acm.auth.entity.User;
 import com.acm.auth.exception.AppException;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.InvalidatedTokenRepository;
+import com.acm.auth.service.jfr.TokenEvent;
+import com.acm.auth.token.CompactClaims;
+import com.acm.auth.token.TokenEncoder;
+import com.acm.auth.token.TokenVerificationException;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.auth.token.VerifiedToken;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 @Service
 @Slf4j
 public class JwtTokenService {
 
-    @Value("${jwt.signer-key}")
-    private String signerKey;
+    private static final String ISSUER = "auth-service";
 
     @Value("${jwt.valid-duration}")
     private long validDuration;
 
-    @Value("${jwt.refreshable-duration}")
-    private long refreshableDuration;
+    /**
+     * {@code standard} or {@code compact} (see {@link CompactClaims}). The
+     * verifiers accept both, so the profile can be switched without a logout.
+     */
+    @Value("${jwt.profile:standard}")
+    private String profile;
 
     private final InvalidatedTokenRepository invalidatedTokenRepository;
-
-    public JwtTokenService(InvalidatedTokenRepository invalidatedTokenRepository) {
+    private final TokenVerifier tokenVerifier;
+    private final TokenEncoder tokenEncoder;
+    private final RequestTokenContext requestTokenContext;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenMetrics tokenMetrics;
+
+    public JwtTokenService(InvalidatedTokenRepository invalidatedTokenRepository, TokenVerifier tokenVerifier,
+            TokenEncoder tokenEncoder, RequestTokenContext requestTokenContext,
+            ApplicationEventPublisher eventPublisher, ObjectProvider<MeterRegistry> meterRegistryProvider) {
         this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.tokenVerifier = tokenVerifier;
+        this.tokenEncoder = tokenEncoder;
+        this.requestTokenContext = requestTokenContext;
+        this.eventPublisher = eventPublisher;
+        this.tokenMetrics = new TokenMetrics(meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry),
+                TokenMetrics.CALLER_SERVICE);
     }
 
     public long getValidDuration() {
@@ -48,61 +69,113 @@ public class JwtTokenService {
     }
 
     /**
-     * Generate JWT token for authenticated user.
+     * Generate JWT token for authenticated user, in the configured claim profile.
+     * Claims are written in the order nimbus would serialize them.
      */
     public String generateToken(User user, String primaryRole) {
-        JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
-
-        JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
-                .subject(user.getEmail())
-                .issuer("auth-service")
-                .issueTime(new Date())
-                .expirationTime(new Date(Instant.now().plus(validDuration, ChronoUnit.SECONDS).toEpochMilli()))
-                .jwtID(UUID.randomUUID().toString())
-                .claim("user_id", user.getId())
-                .claim("email", user.getEmail())
-                .claim("username", user.getUsername())
-                .claim("role", primaryRole)
-                .claim("scope", buildScope(user))
-                .build();
-
-        Payload payload = new Payload(jwtClaimsSet.toJSONObject());
-
-        JWSObject jwsObject = new JWSObject(header, payload);
-
-        try {
-            jwsObject.sign(new MACSigner(signerKey.getBytes()));
-            return jwsObject.serialize();
-        } catch (JOSEException e) {
-            log.error("Cannot create token", e);
-            throw new RuntimeException(e);
-        }
+        TokenEvent event = tokenMetrics.startSigning(false);
+        long issuedAt = Instant.now().getEpochSecond();
+        boolean compact = "compact".equalsIgnoreCase(profile);
+        String jwtId = newJwtId();
+
+        String token = tokenEncoder.encode(claims -> {
+            claims.string("sub", user.getEmail())
+                    .string("iss", ISSUER)
+                    .number("iat", issuedAt)
+                    .number("exp", issuedAt + validDuration)
+                    .string("jti", jwtId);
+            if (compact) {
+                claims.number(CompactClaims.USER_ID, user.getId())
+                        .string(CompactClaims.USERNAME, user.getUsername())
+                        .string(CompactClaims.ROLES, CompactClaims.encodeRoles(primaryRole, roleCodes(user)));
+            } else {
+                claims.number("user_id", user.getId())
+                        .string("email", user.getEmail())
+                        .string("username", user.getUsername())
+                        .string("role", primaryRole)
+                        .string("scope", buildScope(user));
+            }
+        });
+        tokenMetrics.signed(event);
+        return token;
     }
 
     /**
-     * Verify JWT token.
+     * A fresh token id in the configured profile's format.
      */
-    public SignedJWT verifyToken(String token, boolean isRefresh) throws JOSEException, ParseException {
-        JWSVerifier verifier = new MACVerifier(signerKey.getBytes());
-
-        SignedJWT signedJWT = SignedJWT.parse(token);
-
-        Date expiryTime = isRefresh
-                ? new Date(signedJWT.getJWTClaimsSet().getIssueTime().toInstant()
-                        .plus(refreshableDuration, ChronoUnit.SECONDS).toEpochMilli())
-                : signedJWT.getJWTClaimsSet().getExpirationTime();
+    public String newJwtId() {
+        return "compact".equalsIgnoreCase(profile) ? tokenEncoder.newJwtId() : tokenEncoder.newUuidJwtId();
+    }
 
-        boolean verified = signedJWT.verify(verifier);
+    /**
+     * Generate a token for a service account. Service tokens always use the
+     * standard claim names and carry {@code client_id} instead of user claims.
+     */
+    public String generateServiceToken(String jwtId, String clientId, Collection<String> roleCodes,
+            long validSeconds) {
+        TokenEvent event = tokenMetrics.startSigning(true);
+        long issuedAt = Instant.now().getEpochSecond();
+        StringJoiner scope = new StringJoiner(" ");
+        roleCodes.stream().sorted().forEach(code -> scope.add("ROLE_" + code));
+
+        String token = tokenEncoder.encode(claims -> claims
+                .string("sub", clientId)
+                .string("iss", ISSUER)
+                .number("iat", issuedAt)
+                .number("exp", issuedAt + validSeconds)
+                .string("jti", jwtId)
+                .string(TokenVerifier.CLIENT_ID_CLAIM, clientId)
+                .string("scope", scope.toString()));
+        tokenMetrics.signed(event);
+        return token;
+    }
 
-        if (!(verified && expiryTime.after(new Date()))) {
+    /**
+     * Verify JWT token, reusing the verification already done for this
+     * request when it is the same token. Malformed, forged, expired and
+     * revoked tokens all surface as {@link ErrorCode#UNAUTHENTICATED}.
+     */
+    public VerifiedToken verifyToken(String token, boolean isRefresh) {
+        TokenEvent event = tokenMetrics.startVerifying();
+        try {
+            VerifiedToken verified = requestTokenContext.lookup(token);
+            if (verified != null) {
+                verified = isRefresh ? tokenVerifier.verifyForRefresh(verified) : verified;
+            } else if (isRefresh) {
+                verified = tokenVerifier.verifyForRefresh(token);
+            } else {
+                verified = tokenVerifier.verify(token);
+                requestTokenContext.remember(token, verified);
+            }
+            tokenMetrics.verified(event);
+            return verified;
+        } catch (TokenVerificationException e) {
+            tokenMetrics.rejected(e.getReason(), event);
+            log.debug("Token rejected: {}", e.getReason());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
+    }
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
+    /**
+     * Verifies signature and refresh window but not revocation, so a refresh
+     * can recognise a token that a concurrent refresh just rotated. Callers
+     * must check {@link #isInvalidated(String)} before rotating it themselves.
+     */
+    public VerifiedToken verifyForRefresh(String token) {
+        TokenEvent event = tokenMetrics.startVerifying();
+        try {
+            VerifiedToken verified = tokenVerifier.verifyForRefresh(token, false);
+            tokenMetrics.verified(event);
+            return verified;
+        } catch (TokenVerificationException e) {
+            tokenMetrics.rejected(e.getReason(), event);
+            log.debug("Token rejected: {}", e.getReason());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
+    }
 
-        return signedJWT;
+    public boolean isInvalidated(String jwtId) {
+        return invalidatedTokenRepository.existsById(jwtId);
     }
 
     /**
@@ -114,13 +187,26 @@ public class JwtTokenService {
                 .expiryTime(expiryTime)
                 .build();
         invalidatedTokenRepository.save(invalidatedToken);
+        eventPublisher.publishEvent(new TokenInvalidatedEvent(jwtId, expiryTime.toInstant()));
     }
 
+    private List<String> roleCodes(User user) {
+        if (CollectionUtils.isEmpty(user.getRoles())) {
+            return List.of();
+        }
+        return user.getRoles().stream().map(Role::getCode).toList();
+    }
+
+    /**
+     * Role codes are sorted so that the scope identifies the role set;
+     * {@link com.acm.auth.service.authz.PermissionResolver} caches by it.
+     */
     private String buildScope(User user) {
         StringJoiner stringJoiner = new StringJoiner(" ");
 
         if (!CollectionUtils.isEmpty(user.getRoles())) {
-            user.getRoles().forEach(role -> stringJoiner.add("ROLE_" + role.getCode()));
+            user.getRoles().stream().map(Role::getCode).sorted()
+                    .forEach(code -> stringJoiner.add("ROLE_" + code));
         }
 
         return stringJoiner.toString();
@@ -18,6 +18,7 @@ import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.UserRepository;
 import com.acm.auth.service.ResetTokenService.ResetTokenPayload;
 import com.acm.auth.service.otp.OtpService;
+import com.acm.auth.service.password.BreachedPasswordChecker;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,7 @@ public class PasswordResetService {
     private final PasswordEncoder passwordEncoder;
     private final OtpService otpService;
     private final ResetTokenService resetTokenService;
+    private final BreachedPasswordChecker breachedPasswordChecker;
 
     @Transactional
     public OtpChallengeResponse requestReset(ForgotPasswordRequest request) {
@@ -69,6 +71,7 @@ public class PasswordResetService {
     @Transactional
     public ResetPasswordResponse resetPassword(ResetPasswordRequest request) {
         ResetTokenPayload payload = resetTokenService.verifyToken(request.getTempResetToken());
+        breachedPasswordChecker.requireNotBreached(request.getNewPassword());
 
         User user = null;
         if (payload.userId() != null) {
@@ -0,0 +1,92 @@
+package com.acm.auth.service;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.acm.auth.dto.response.AuthenticationResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces concurrent refreshes of the same token (keyed by jti).
+ *
+ * The first request rotates the token; requests for the same jti that
+ * arrive while it runs, or within the grace window after it succeeded, get
+ * the same response instead of failing on the already-invalidated jti.
+ * Callers must have verified the token's signature first, so only holders
+ * of the token can receive its replacement. Failures are not cached.
+ */
+@Component
+@Slf4j
+public class RefreshCoalescer {
+
+    private static final int SWEEP_EVERY = 64;
+
+    private static final class Flight {
+        private final CompletableFuture<AuthenticationResponse> result = new CompletableFuture<>();
+        private volatile long completedAt;
+    }
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Clock clock;
+
+    @Value("${jwt.refresh-grace-seconds:10}")
+    private long graceSeconds;
+
+    public RefreshCoalescer(Clock clock) {
+        this.clock = clock;
+    }
+
+    public AuthenticationResponse refresh(String jwtId, Supplier<AuthenticationResponse> rotate) {
+        if (calls.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweep();
+        }
+
+        Flight mine = new Flight();
+        Flight current = flights.compute(jwtId,
+                (id, existing) -> existing != null && !expired(existing) ? existing : mine);
+        if (current != mine) {
+            log.debug("Refresh of {} joined an earlier rotation", jwtId);
+            return await(current.result);
+        }
+
+        try {
+            AuthenticationResponse response = rotate.get();
+            mine.completedAt = clock.millis();
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            flights.remove(jwtId, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private boolean expired(Flight flight) {
+        return flight.result.isDone() && clock.millis() - flight.completedAt > graceSeconds * 1000;
+    }
+
+    private void sweep() {
+        flights.values().removeIf(this::expired);
+    }
+
+    private static AuthenticationResponse await(CompletableFuture<AuthenticationResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.acm.auth.service;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.acm.auth.constant.UserConstraints;
 import com.acm.auth.dto.request.SignUpRequest;
 import com.acm.auth.dto.request.SignUpVerifyOtpRequest;
 import com.acm.auth.dto.response.OtpChallengeResponse;
@@ -17,16 +19,20 @@ import com.acm.auth.entity.User;
 import com.acm.auth.enums.OtpPurpose;
 import com.acm.auth.enums.UserStatus;
 import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ConstraintViolations;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.RoleRepository;
 import com.acm.auth.repository.UserRepository;
 import com.acm.auth.service.otp.OtpChallenge;
 import com.acm.auth.service.otp.OtpService;
+import com.acm.auth.service.password.BreachedPasswordChecker;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Observed(name = "auth.service")
 @RequiredArgsConstructor
 @Slf4j
 public class RegistrationService {
@@ -35,32 +41,20 @@ public class RegistrationService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final OtpService otpService;
-
-    @Transactional
+    private final BreachedPasswordChecker breachedPasswordChecker;
+
+    /**
+     * Inserts the pending user directly and lets the unique indexes on email and
+     * username reject duplicates, so the happy path costs no pre-check queries.
+     * Not transactional: the insert commits on its own, so a violation can be
+     * followed by the lookup that decides between a conflict and an OTP resend
+     * for a still-pending registration.
+     */
     public OtpChallengeResponse register(SignUpRequest request) {
         String email = request.getEmail();
         String username = request.getUsername();
 
-        var existingByEmail = userRepository.findByEmail(email);
-        if (existingByEmail.isPresent()) {
-            User existing = existingByEmail.get();
-            if (existing.getStatus() == UserStatus.PENDING_VERIFICATION
-                    && existing.getUsername().equalsIgnoreCase(username)) {
-                return sendOtpChallenge(existing);
-            }
-            throw new AppException(ErrorCode.EMAIL_ALREADY_EXISTS);
-        }
-
-        var existingByUsername = userRepository.findByUsername(username);
-        if (existingByUsername.isPresent()) {
-            User existing = existingByUsername.get();
-            if (existing.getStatus() == UserStatus.PENDING_VERIFICATION
-                    && existing.getEmail().equalsIgnoreCase(email)) {
-                return sendOtpChallenge(existing);
-            }
-            throw new AppException(ErrorCode.USERNAME_ALREADY_EXISTS);
-        }
-
+        breachedPasswordChecker.requireNotBreached(request.getPassword());
         Role role = resolveRole(request.getRole());
 
         User user = User.builder()
@@ -74,12 +68,59 @@ public class RegistrationService {
                 .joinedDate(LocalDateTime.now())
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            return resendOrReject(user, e);
+        }
         log.info("Pending user created: {}", email);
 
         return sendOtpChallenge(user);
     }
 
+    /**
+     * Resends the OTP if the conflicting row is this same registration still
+     * awaiting verification, otherwise maps the violation to its error code.
+     */
+    private OtpChallengeResponse resendOrReject(User attempted, DataIntegrityViolationException e) {
+        String email = attempted.getEmail();
+        String username = attempted.getUsername();
+        if (!ConstraintViolations.isViolationOf(e, UserConstraints.UK_USERNAME)) {
+            var existingByEmail = userRepository.findByEmail(email);
+            if (existingByEmail.isPresent()) {
+                User existing = existingByEmail.get();
+                if (existing.getStatus() == UserStatus.PENDING_VERIFICATION
+                        && existing.getUsername().equalsIgnoreCase(username)) {
+                    return sendOtpChallenge(refreshPending(existing, attempted));
+                }
+                throw new AppException(ErrorCode.EMAIL_ALREADY_EXISTS);
+            }
+        }
+
+        var existingByUsername = userRepository.findByUsername(username);
+        if (existingByUsername.isPresent()) {
+            User existing = existingByUsername.get();
+            if (existing.getStatus() == UserStatus.PENDING_VERIFICATION
+                    && existing.getEmail().equalsIgnoreCase(email)) {
+                return sendOtpChallenge(refreshPending(existing, attempted));
+            }
+            throw new AppException(ErrorCode.USERNAME_ALREADY_EXISTS);
+        }
+        throw e;
+    }
+
+    /**
+     * The pending row may be left over from an attempt whose OTP never went
+     * out, so the retry's details replace it and the verified account signs in
+     * with the password submitted last.
+     */
+    private User refreshPending(User existing, User attempted) {
+        existing.setPassword(attempted.getPassword());
+        existing.setFullName(attempted.getFullName());
+        existing.setPhone(attempted.getPhone());
+        return userRepository.save(existing);
+    }
+
     @Transactional
     public SignUpVerifyOtpResponse verifyOtp(SignUpVerifyOtpRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
@@ -0,0 +1,44 @@
+package com.acm.auth.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.acm.auth.token.VerifiedToken;
+
+/**
+ * The token verified during the current request, so it is parsed, checked
+ * and looked up in the revocation table once.
+ *
+ * {@link com.acm.auth.config.CustomJwtDecoder} records the bearer token;
+ * {@link JwtTokenService#verifyToken} reuses it when a service is handed the
+ * same token (sign-out, refresh, introspect) and records it otherwise.
+ * Outside a request nothing is cached.
+ */
+@Component
+public class RequestTokenContext {
+
+    private static final String ATTRIBUTE = RequestTokenContext.class.getName();
+
+    private record Entry(String token, VerifiedToken verified) {
+    }
+
+    public void remember(String token, VerifiedToken verified) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, new Entry(token, verified), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Returns the verified form of {@code token} if it was verified earlier in this request.
+     */
+    public VerifiedToken lookup(String token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object entry = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return entry instanceof Entry e && e.token().equals(token) ? e.verified() : null;
+    }
+}
@@ -1,17 +1,24 @@
 package com.acm.auth.service;
 
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.acm.auth.dto.request.CreateRoleRequest;
 import com.acm.auth.dto.request.UpdateRoleRequest;
 import com.acm.auth.dto.response.RoleResponse;
 import com.acm.auth.entity.Role;
+import com.acm.auth.enums.Permission;
 import com.acm.auth.exception.AppException;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.RoleRepository;
+import com.acm.auth.service.authz.PermissionResolver;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,10 +33,12 @@ import lombok.extern.slf4j.Slf4j;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final PermissionResolver permissionResolver;
 
     /**
      * Get all roles.
      */
+    @Transactional(readOnly = true)
     public List<RoleResponse> getAllRoles() {
         log.info("Fetching all roles");
         return roleRepository.findAll().stream()
@@ -40,6 +49,7 @@ public class RoleService {
     /**
      * Get a role by its code.
      */
+    @Transactional(readOnly = true)
     public RoleResponse getRoleByCode(String code) {
         log.info("Fetching role by code: {}", code);
         Role role = roleRepository.findByCode(code.toUpperCase())
@@ -50,6 +60,7 @@ public class RoleService {
     /**
      * Get a role by its ID.
      */
+    @Transactional(readOnly = true)
     public RoleResponse getRoleById(Long id) {
         log.info("Fetching role by id: {}", id);
         Role role = roleRepository.findById(id)
@@ -77,9 +88,11 @@ public class RoleService {
                 .description(request.getDescription())
                 .priority(request.getPriority() != null ? request.getPriority() : 0)
                 .redirectPath(request.getRedirectPath() != null ? request.getRedirectPath() : "/dashboard")
+                .permissions(permissionsOf(request.getPermissions()))
                 .build();
 
         role = roleRepository.save(role);
+        invalidatePermissionsAfterCommit();
         log.info("Role created successfully: {}", code);
 
         return toRoleResponse(role);
@@ -108,8 +121,13 @@ public class RoleService {
         if (request.getRedirectPath() != null) {
             role.setRedirectPath(request.getRedirectPath());
         }
+        if (request.getPermissions() != null) {
+            role.getPermissions().clear();
+            role.getPermissions().addAll(request.getPermissions());
+        }
 
         role = roleRepository.save(role);
+        invalidatePermissionsAfterCommit();
         log.info("Role updated successfully: {}", code);
 
         return toRoleResponse(role);
@@ -133,6 +151,7 @@ public class RoleService {
                 .orElseThrow(() -> new AppException(ErrorCode.ROLE_NOT_FOUND));
 
         roleRepository.delete(role);
+        invalidatePermissionsAfterCommit();
         log.info("Role deleted successfully: {}", code);
     }
 
@@ -147,6 +166,32 @@ public class RoleService {
                 .description(role.getDescription())
                 .priority(role.getPriority())
                 .redirectPath(role.getRedirectPath())
+                .permissions(permissionsOf(role.getPermissions()))
                 .build();
     }
+
+    /**
+     * Compiled role sets may include the changed role. Clearing them before
+     * the commit would let a concurrent request re-cache the old permissions.
+     */
+    private void invalidatePermissionsAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            permissionResolver.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                permissionResolver.invalidateAll();
+            }
+        });
+    }
+
+    private static Set<Permission> permissionsOf(Collection<Permission> permissions) {
+        Set<Permission> copy = EnumSet.noneOf(Permission.class);
+        if (permissions != null) {
+            copy.addAll(permissions);
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,11 @@
+package com.acm.auth.service;
+
+import java.time.Instant;
+
+/**
+ * Published after a token id is added to the invalidated tokens, so caches
+ * holding that token can drop it. {@code expiresAt} is when the token would
+ * have expired anyway.
+ */
+public record TokenInvalidatedEvent(String jwtId, Instant expiresAt) {
+}
@@ -0,0 +1,64 @@
+package com.acm.auth.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.acm.auth.service.jfr.TokenEvent;
+import com.acm.auth.token.TokenVerificationException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for issuing and verifying tokens. Every tag combination is
+ * registered up front, so recording is an array lookup.
+ *
+ * {@code auth.jwt.verify} is tagged with the {@code caller} (the
+ * resource-server decoder or the auth flows in {@link JwtTokenService}) and
+ * the {@code outcome}: {@code valid} or the lower-cased rejection reason.
+ * The same measurement is committed as a {@link TokenEvent} for JFR.
+ */
+public final class TokenMetrics {
+
+    public static final String CALLER_DECODER = "decoder";
+    public static final String CALLER_SERVICE = "service";
+
+    private static final TokenVerificationException.Reason[] REASONS = TokenVerificationException.Reason.values();
+
+    private final String caller;
+    private final Timer userSign;
+    private final Timer serviceSign;
+    private final Timer valid;
+    private final Timer[] rejected = new Timer[REASONS.length];
+
+    public TokenMetrics(MeterRegistry meterRegistry, String caller) {
+        this.caller = caller;
+        this.userSign = meterRegistry.timer("auth.jwt.sign", "type", "user");
+        this.serviceSign = meterRegistry.timer("auth.jwt.sign", "type", "service");
+        this.valid = meterRegistry.timer("auth.jwt.verify", "caller", caller, "outcome", "valid");
+        for (TokenVerificationException.Reason reason : REASONS) {
+            rejected[reason.ordinal()] = meterRegistry.timer("auth.jwt.verify",
+                    "caller", caller, "outcome", reason.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public TokenEvent startSigning(boolean serviceToken) {
+        return TokenEvent.sign(serviceToken, caller);
+    }
+
+    public TokenEvent startVerifying() {
+        return TokenEvent.verify(caller);
+    }
+
+    public void signed(TokenEvent event) {
+        (event.isServiceToken() ? serviceSign : userSign).record(event.finish("signed"), TimeUnit.NANOSECONDS);
+    }
+
+    public void verified(TokenEvent event) {
+        valid.record(event.finish("valid"), TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(TokenVerificationException.Reason reason, TokenEvent event) {
+        rejected[reason.ordinal()].record(event.finish(reason.name()), TimeUnit.NANOSECONDS);
+    }
+}
@@ -3,18 +3,20 @@ package com.acm.auth.service;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.acm.auth.constant.UserConstraints;
 import com.acm.auth.dto.request.SignUpRequest;
 import com.acm.auth.dto.response.UserResponse;
 import com.acm.auth.entity.Role;
 import com.acm.auth.entity.User;
 import com.acm.auth.enums.UserStatus;
 import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ConstraintViolations;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.RoleRepository;
 import com.acm.auth.repository.UserRepository;
@@ -28,22 +30,13 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
 
-    @Transactional
+    /**
+     * Creates an active user. Duplicates are rejected by the unique indexes on
+     * insert rather than by pre-check queries.
+     */
     public UserResponse signUp(SignUpRequest request) {
         log.info("Sign-up attempt for email: {}", request.getEmail());
 
-        // Check existing email
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Sign-up failed - email already exists: {}", request.getEmail());
-            throw new AppException(ErrorCode.EMAIL_ALREADY_EXISTS);
-        }
-
-        // Check existing username
-        if (userRepository.existsByUsername(request.getUsername())) {
-            log.warn("Sign-up failed - username already exists: {}", request.getUsername());
-            throw new AppException(ErrorCode.USERNAME_ALREADY_EXISTS);
-        }
-
         // Find role (default to USER)
         String roleCode = request.getRole() != null ? request.getRole().toUpperCase() : "USER";
         Role role = roleRepository.findByCode(roleCode)
@@ -62,7 +55,11 @@ public class UserService {
                 .joinedDate(LocalDateTime.now())
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicate(request, e);
+        }
         log.info("User created successfully: {} with role: {}", user.getEmail(), roleCode);
 
         return UserResponse.builder()
@@ -75,4 +72,23 @@ public class UserService {
                 .role(roleCode)
                 .build();
     }
+
+    private AppException translateDuplicate(SignUpRequest request, DataIntegrityViolationException e) {
+        boolean emailTaken = ConstraintViolations.isViolationOf(e, UserConstraints.UK_EMAIL);
+        boolean usernameTaken = ConstraintViolations.isViolationOf(e, UserConstraints.UK_USERNAME);
+        if (!emailTaken && !usernameTaken) {
+            // Unnamed legacy index: find out which column collided
+            emailTaken = userRepository.existsByEmail(request.getEmail());
+            usernameTaken = !emailTaken && userRepository.existsByUsername(request.getUsername());
+        }
+        if (emailTaken) {
+            log.warn("Sign-up failed - email already exists: {}", request.getEmail());
+            return new AppException(ErrorCode.EMAIL_ALREADY_EXISTS);
+        }
+        if (usernameTaken) {
+            log.warn("Sign-up failed - username already exists: {}", request.getUsername());
+            return new AppException(ErrorCode.USERNAME_ALREADY_EXISTS);
+        }
+        throw e;
+    }
 }
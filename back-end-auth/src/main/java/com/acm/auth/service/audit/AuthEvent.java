@@ -0,0 +1,44 @@
+package com.acm.auth.service.audit;
+
+/**
+ * Outcomes of sign-in and OTP attempts recorded by {@link AuthEventLog}.
+ */
+public enum AuthEvent {
+    SIGN_IN_SUCCEEDED("sign_in.succeeded", false, "Authentication successful"),
+    SIGN_IN_MISSING_IDENTIFIER("sign_in.missing_identifier", true, "Authentication failed - no identifier provided"),
+    SIGN_IN_UNKNOWN_IDENTIFIER("sign_in.unknown_identifier", true, "Authentication failed - identifier not found"),
+    SIGN_IN_BAD_PASSWORD("sign_in.bad_password", true, "Authentication failed - invalid password"),
+    SIGN_IN_NOT_ACTIVE("sign_in.not_active", true, "Authentication failed - user not active"),
+    SIGN_IN_NO_ROLE("sign_in.no_role", true, "Authentication failed - no roles assigned"),
+    GOOGLE_SIGN_IN_SUCCEEDED("google_sign_in.succeeded", false, "Google authentication successful"),
+    GOOGLE_TOKEN_REJECTED("google_sign_in.token_rejected", true, "Google ID token verification failed"),
+    GOOGLE_SIGN_IN_NOT_ACTIVE("google_sign_in.not_active", true, "Google auth failed - user not active"),
+    GOOGLE_SIGN_IN_NO_ROLE("google_sign_in.no_role", true, "Google auth failed - no roles assigned"),
+    OTP_SENT("otp.sent", false, "OTP sent"),
+    OTP_SEND_THROTTLED("otp.send_throttled", true, "OTP resend requested too soon"),
+    OTP_VERIFIED("otp.verified", false, "OTP verified successfully"),
+    OTP_REJECTED("otp.rejected", true, "OTP verification failed");
+
+    private final String key;
+    private final boolean failure;
+    private final String description;
+
+    AuthEvent(String key, boolean failure, String description) {
+        this.key = key;
+        this.failure = failure;
+        this.description = description;
+    }
+
+    /** Name used in structured output and in the periodic counters. */
+    public String key() {
+        return key;
+    }
+
+    public boolean failure() {
+        return failure;
+    }
+
+    public String description() {
+        return description;
+    }
+}
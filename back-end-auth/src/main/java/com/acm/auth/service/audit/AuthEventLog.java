@@ -0,0 +1,112 @@
+package com.acm.auth.service.audit;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.spi.LoggingEventBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs sign-in and OTP outcomes without one line per attempt.
+ *
+ * Every event is counted; only the first {@code samplesPerInterval} of each
+ * kind per interval are logged individually, as key-value events that the
+ * JSON encoder turns into fields. At the end of each interval one summary
+ * line carries the counts, so a credential-stuffing burst shows up as a
+ * number rather than as thousands of lines.
+ *
+ * Logged under {@code com.acm.auth.audit} so the level can be set apart
+ * from the services. Every event also increments the {@code auth.events}
+ * counter tagged with its key.
+ */
+@Slf4j(topic = "com.acm.auth.audit")
+public class AuthEventLog implements AutoCloseable {
+
+    public record Settings(int samplesPerInterval, Duration summaryInterval) {
+    }
+
+    private static final AuthEvent[] EVENTS = AuthEvent.values();
+
+    private final Settings settings;
+    private final LongAdder[] counts = new LongAdder[EVENTS.length];
+    private final AtomicInteger[] sampled = new AtomicInteger[EVENTS.length];
+    private final Counter[] meters = new Counter[EVENTS.length];
+    private final ScheduledExecutorService scheduler;
+
+    public AuthEventLog(Settings settings, ThreadFactory threadFactory, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        for (int i = 0; i < EVENTS.length; i++) {
+            counts[i] = new LongAdder();
+            sampled[i] = new AtomicInteger();
+            meters[i] = meterRegistry.counter("auth.events", "event", EVENTS[i].key(),
+                    "outcome", EVENTS[i].failure() ? "failure" : "success");
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    public void start() {
+        long millis = settings.summaryInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(AuthEvent event, String subject) {
+        record(event, subject, null);
+    }
+
+    /**
+     * Counts the event and logs it if this interval's sample for its kind
+     * is not used up.
+     */
+    public void record(AuthEvent event, String subject, Object detail) {
+        int index = event.ordinal();
+        counts[index].increment();
+        meters[index].increment();
+        if (sampled[index].incrementAndGet() > settings.samplesPerInterval()) {
+            return;
+        }
+        LoggingEventBuilder builder = (event.failure() ? log.atWarn() : log.atInfo())
+                .addKeyValue("event", event.key())
+                .addKeyValue("subject", subject);
+        if (detail != null) {
+            builder = builder.addKeyValue("detail", detail);
+            builder.log("{}: {} ({})", event.description(), subject, detail);
+        } else {
+            builder.log("{}: {}", event.description(), subject);
+        }
+    }
+
+    /**
+     * Logs the counts since the last flush, if any, and starts a new sample.
+     */
+    public void flush() {
+        LoggingEventBuilder summary = log.atInfo();
+        long total = 0;
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < EVENTS.length; i++) {
+            long count = counts[i].sumThenReset();
+            sampled[i].set(0);
+            if (count > 0) {
+                summary = summary.addKeyValue(EVENTS[i].key(), count);
+                text.append(text.isEmpty() ? "" : ", ").append(EVENTS[i].key()).append('=').append(count);
+                total += count;
+            }
+        }
+        if (total > 0) {
+            summary.log("Auth events in the last {}s: {}", settings.summaryInterval().toSeconds(), text);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flush();
+    }
+}
@@ -0,0 +1,93 @@
+package com.acm.auth.service.authz;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.acm.auth.entity.Role;
+import com.acm.auth.repository.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiles the permissions of a set of roles into a {@link PermissionSet}.
+ *
+ * The role set is identified by the token's {@code scope} claim, which
+ * {@link com.acm.auth.service.JwtTokenService} writes with the role codes
+ * sorted, so every token with the same roles shares one cache entry and the
+ * roles are only loaded when a combination is first seen. Entries expire
+ * after {@code app.authorization.permission-cache-seconds} so that role
+ * edits made on another instance are picked up; edits made here clear the
+ * cache at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionResolver {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private record Compiled(PermissionSet permissions, long compiledAtMillis) {
+    }
+
+    private final RoleRepository roleRepository;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Compiled> bySignature = new ConcurrentHashMap<>();
+
+    @Value("${app.authorization.permission-cache-seconds:60}")
+    private long cacheSeconds;
+
+    @Value("${app.authorization.max-cached-role-sets:1024}")
+    private int maxCachedRoleSets;
+
+    /**
+     * The combined permissions of the roles named in a {@code scope} claim
+     * ({@code ROLE_}-prefixed codes separated by spaces).
+     */
+    public PermissionSet resolve(String scope) {
+        String signature = scope == null ? "" : scope;
+        long now = clock.millis();
+        Compiled cached = bySignature.get(signature);
+        if (cached != null && now - cached.compiledAtMillis() < cacheSeconds * 1000) {
+            return cached.permissions();
+        }
+
+        PermissionSet permissions = compile(signature);
+        if (bySignature.size() >= maxCachedRoleSets) {
+            bySignature.clear();
+        }
+        bySignature.put(signature, new Compiled(permissions, now));
+        return permissions;
+    }
+
+    /**
+     * Drops every compiled role set, e.g. after a role's permissions change.
+     */
+    public void invalidateAll() {
+        bySignature.clear();
+    }
+
+    private PermissionSet compile(String scope) {
+        List<String> roleCodes = new ArrayList<>();
+        for (String authority : scope.split(" ")) {
+            if (authority.startsWith(ROLE_PREFIX)) {
+                roleCodes.add(authority.substring(ROLE_PREFIX.length()));
+            }
+        }
+        if (roleCodes.isEmpty()) {
+            return PermissionSet.NONE;
+        }
+
+        PermissionSet permissions = PermissionSet.NONE;
+        for (Role role : roleRepository.findByCodeIn(roleCodes)) {
+            permissions = permissions.union(PermissionSet.of(role.getPermissions()));
+        }
+        log.debug("Compiled permissions for [{}]: {}", scope, permissions);
+        return permissions;
+    }
+}
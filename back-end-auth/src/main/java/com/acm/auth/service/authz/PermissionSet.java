@@ -0,0 +1,80 @@
+package com.acm.auth.service.authz;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.acm.auth.enums.Permission;
+
+/**
+ * An immutable set of {@link Permission}s packed into one {@code long}, one
+ * bit per constant, so an authorization check is a single mask comparison.
+ */
+public final class PermissionSet {
+
+    public static final PermissionSet NONE = new PermissionSet(0L);
+
+    static {
+        if (Permission.values().length > Long.SIZE) {
+            throw new IllegalStateException("At most 64 permissions fit in a PermissionSet");
+        }
+    }
+
+    private final long bits;
+
+    private PermissionSet(long bits) {
+        this.bits = bits;
+    }
+
+    public static PermissionSet of(Collection<Permission> permissions) {
+        return new PermissionSet(mask(permissions.toArray(Permission[]::new)));
+    }
+
+    /**
+     * The bits of the given permissions, for use with {@link #hasAll(long)}.
+     */
+    public static long mask(Permission... permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= 1L << permission.ordinal();
+        }
+        return mask;
+    }
+
+    public boolean has(Permission permission) {
+        return (bits & (1L << permission.ordinal())) != 0;
+    }
+
+    public boolean hasAll(long mask) {
+        return (bits & mask) == mask;
+    }
+
+    public PermissionSet union(PermissionSet other) {
+        return new PermissionSet(bits | other.bits);
+    }
+
+    public Set<Permission> toSet() {
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        for (Permission permission : Permission.values()) {
+            if (has(permission)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PermissionSet set && set.bits == bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+}
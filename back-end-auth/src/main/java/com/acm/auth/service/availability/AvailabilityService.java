@@ -0,0 +1,131 @@
+package com.acm.auth.service.availability;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.acm.auth.dto.response.AvailabilityResponse;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers username/email availability for the sign-up form without touching
+ * the database for values the {@link UserIdentifierFilter} has never seen.
+ * Only possible collisions fall back to the indexed exists queries.
+ *
+ * Users inserted by other instances reach the filter through
+ * {@link #topUpFilter()}, which {@link UserIdentifierTopUp} runs periodically;
+ * until then they may be reported available, and the unique indexes still
+ * reject the sign-up.
+ */
+@Service
+@Slf4j
+public class AvailabilityService {
+
+    private final UserRepository userRepository;
+    private final UserIdentifierFilter userIdentifierFilter;
+    private final Counter filterHits;
+    private final Counter databaseChecks;
+
+    // Written by the startup scan, then only by the top-up thread
+    private volatile long scannedUpTo;
+    private volatile long rescanFrom;
+
+    public AvailabilityService(UserRepository userRepository, UserIdentifierFilter userIdentifierFilter,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.userRepository = userRepository;
+        this.userIdentifierFilter = userIdentifierFilter;
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.filterHits = meterRegistry.counter("auth.availability.checks", "source", "filter");
+        this.databaseChecks = meterRegistry.counter("auth.availability.checks", "source", "database");
+    }
+
+    /**
+     * Streams every username and email into the filter once the application is up.
+     * Users inserted meanwhile are added by {@link UserIdentifierListener}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadFilter() {
+        long started = System.nanoTime();
+        long[] count = { 0 };
+        long[] maxId = { 0 };
+        try (Stream<UserRepository.Identifiers> identifiers = userRepository.streamIdentifiers()) {
+            identifiers.forEach(user -> {
+                userIdentifierFilter.add(user.getUsername(), user.getEmail());
+                maxId[0] = Math.max(maxId[0], user.getId());
+                count[0]++;
+            });
+        }
+        scannedUpTo = maxId[0];
+        rescanFrom = maxId[0];
+        userIdentifierFilter.markReady();
+        log.info("Availability filter loaded with {} users in {} ms", count[0],
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds the users inserted since the previous scans, including those of
+     * other instances. Each run starts from where the run before the previous
+     * one ended, so a row whose id was allocated before a higher one but
+     * committed after it is still picked up one interval later.
+     *
+     * @return the number of rows read
+     */
+    public int topUpFilter() {
+        if (!userIdentifierFilter.isReady()) {
+            return 0;
+        }
+        List<UserRepository.Identifiers> users = userRepository.findIdentifiersAfter(rescanFrom);
+        long maxId = scannedUpTo;
+        for (UserRepository.Identifiers user : users) {
+            userIdentifierFilter.add(user.getUsername(), user.getEmail());
+            maxId = Math.max(maxId, user.getId());
+        }
+        rescanFrom = scannedUpTo;
+        scannedUpTo = maxId;
+        return users.size();
+    }
+
+    public AvailabilityResponse check(String username, String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new AppException(ErrorCode.IDENTIFIER_REQUIRED);
+        }
+
+        return AvailabilityResponse.builder()
+                .usernameAvailable(hasUsername ? isUsernameAvailable(username.trim()) : null)
+                .emailAvailable(hasEmail ? isEmailAvailable(email.trim()) : null)
+                .build();
+    }
+
+    private boolean isUsernameAvailable(String username) {
+        if (userIdentifierFilter.isReady() && !userIdentifierFilter.mightContainUsername(username)) {
+            filterHits.increment();
+            return true;
+        }
+        databaseChecks.increment();
+        return !userRepository.existsByUsername(username);
+    }
+
+    private boolean isEmailAvailable(String email) {
+        if (userIdentifierFilter.isReady() && !userIdentifierFilter.mightContainEmail(email)) {
+            filterHits.increment();
+            return true;
+        }
+        databaseChecks.increment();
+        return !userRepository.existsByEmail(email);
+    }
+}
@@ -0,0 +1,64 @@
+package com.acm.auth.service.availability;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory Bloom filter of every normalized username and email in {@code users}.
+ *
+ * A negative answer means the value is certainly free; a positive one only
+ * that it may be taken. Values are lowercased to match the case-insensitive
+ * column collation. Until the startup scan has finished the filter is not
+ * ready and callers must ask the database.
+ *
+ * Each instance holds its own filter: local inserts are added at once, those
+ * of other instances with the next periodic top-up. Usernames or emails
+ * changed on another instance are not picked up until a restart.
+ */
+@Component
+public class UserIdentifierFilter {
+
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final BloomFilter filter;
+    private volatile boolean ready;
+
+    public UserIdentifierFilter(
+            @Value("${app.availability.expected-users:1000000}") long expectedUsers,
+            @Value("${app.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        // Each user contributes a username and an email
+        this.filter = new BloomFilter(expectedUsers * 2, falsePositiveRate);
+    }
+
+    public void add(String username, String email) {
+        if (username != null) {
+            filter.put(USERNAME_PREFIX + normalize(username));
+        }
+        if (email != null) {
+            filter.put(EMAIL_PREFIX + normalize(email));
+        }
+    }
+
+    public boolean mightContainUsername(String username) {
+        return filter.mightContain(USERNAME_PREFIX + normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return filter.mightContain(EMAIL_PREFIX + normalize(email));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
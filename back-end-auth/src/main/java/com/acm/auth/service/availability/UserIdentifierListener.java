@@ -0,0 +1,27 @@
+package com.acm.auth.service.availability;
+
+import org.springframework.stereotype.Component;
+
+import com.acm.auth.entity.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA entity listener that adds every inserted or updated user to the
+ * {@link UserIdentifierFilter}. A rolled-back insert only leaves a false
+ * positive behind, which the database check resolves.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserIdentifierListener {
+
+    private final UserIdentifierFilter userIdentifierFilter;
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(User user) {
+        userIdentifierFilter.add(user.getUsername(), user.getEmail());
+    }
+}
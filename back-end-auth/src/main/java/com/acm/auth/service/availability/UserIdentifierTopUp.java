@@ -0,0 +1,49 @@
+package com.acm.auth.service.availability;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@link AvailabilityService#topUpFilter()} at a fixed delay, so that
+ * users created on other instances reach this instance's
+ * {@link UserIdentifierFilter}; {@link UserIdentifierListener} only sees local
+ * inserts.
+ */
+@Slf4j
+public class UserIdentifierTopUp implements AutoCloseable {
+
+    private final AvailabilityService availabilityService;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    public UserIdentifierTopUp(AvailabilityService availabilityService, Duration interval,
+            ThreadFactory threadFactory) {
+        this.availabilityService = availabilityService;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    public void start() {
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::topUp, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    void topUp() {
+        try {
+            int rows = availabilityService.topUpFilter();
+            log.debug("Availability filter topped up with {} users", rows);
+        } catch (RuntimeException e) {
+            log.warn("Availability filter top-up failed, retrying in {}s: {}", interval.toSeconds(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
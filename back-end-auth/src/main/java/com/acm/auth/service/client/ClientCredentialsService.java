@@ -0,0 +1,205 @@
+package com.acm.auth.service.client;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.acm.auth.dto.response.ClientCredentialsResponse;
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.ServiceAccount;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.ServiceAccountRepository;
+import com.acm.auth.service.JwtTokenService;
+import com.acm.auth.service.TokenInvalidatedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The client_credentials grant for service accounts.
+ *
+ * Secrets are checked with an HMAC, never BCrypt. Issued tokens are cached
+ * per client and scope and handed out again until they are within
+ * {@code reissue-before-expiry-seconds} of expiring, so a busy client costs
+ * one HMAC per call and no database access. A cached token is only returned
+ * to a caller presenting the same secret it was issued for.
+ *
+ * Changes made through {@link ServiceAccountService} evict the client's
+ * tokens once they commit; changes made directly in the database apply once
+ * they expire. Each eviction bumps the client's generation, and a token
+ * whose account was loaded under an older generation is returned to its
+ * caller but not cached, so a secret read just before a rotation committed
+ * cannot seed the cache.
+ */
+@Service
+@Slf4j
+public class ClientCredentialsService {
+
+    public static final String GRANT_TYPE = "client_credentials";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String BASIC_PREFIX = "Basic ";
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private record CacheKey(String clientId, String scope) {
+    }
+
+    private record CachedToken(String token, String jwtId, String secretHash, String scope, long expiresAtMillis) {
+    }
+
+    private final Map<CacheKey, CachedToken> tokens = new ConcurrentHashMap<>();
+    // Only clients that were evicted have an entry, so this is bounded by the accounts
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final ServiceAccountRepository serviceAccountRepository;
+    private final ClientSecretHasher secretHasher;
+    private final JwtTokenService jwtTokenService;
+    private final Clock clock;
+
+    @Value("${app.service-accounts.token-valid-seconds:3600}")
+    private long tokenValidSeconds;
+
+    @Value("${app.service-accounts.reissue-before-expiry-seconds:300}")
+    private long reissueBeforeExpirySeconds;
+
+    public ClientCredentialsService(ServiceAccountRepository serviceAccountRepository,
+            ClientSecretHasher secretHasher, JwtTokenService jwtTokenService, Clock clock) {
+        this.serviceAccountRepository = serviceAccountRepository;
+        this.secretHasher = secretHasher;
+        this.jwtTokenService = jwtTokenService;
+        this.clock = clock;
+    }
+
+    /**
+     * Issues a token, taking the client credentials from an HTTP Basic
+     * {@code Authorization} header when present (RFC 6749 section 2.3.1),
+     * otherwise from the form fields.
+     */
+    public ClientCredentialsResponse issue(String grantType, String authorization, String clientId,
+            String clientSecret, String scope) {
+        if (authorization != null && authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            String decoded;
+            try {
+                decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+                        StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new AppException(ErrorCode.INVALID_CLIENT);
+            }
+            int colon = decoded.indexOf(':');
+            if (colon < 0) {
+                throw new AppException(ErrorCode.INVALID_CLIENT);
+            }
+            clientId = URLDecoder.decode(decoded.substring(0, colon), StandardCharsets.UTF_8);
+            clientSecret = URLDecoder.decode(decoded.substring(colon + 1), StandardCharsets.UTF_8);
+        }
+        return issue(grantType, clientId, clientSecret, scope);
+    }
+
+    public ClientCredentialsResponse issue(String grantType, String clientId, String clientSecret, String scope) {
+        if (!GRANT_TYPE.equals(grantType)) {
+            throw new AppException(ErrorCode.UNSUPPORTED_GRANT_TYPE);
+        }
+        if (clientId == null || clientId.isBlank() || clientSecret == null || clientSecret.isBlank()) {
+            throw new AppException(ErrorCode.INVALID_CLIENT);
+        }
+
+        String presentedHash = secretHasher.hash(clientSecret);
+        CacheKey key = new CacheKey(clientId, normalizeScope(scope));
+        long now = clock.millis();
+
+        CachedToken cached = tokens.get(key);
+        if (cached != null && ClientSecretHasher.sameHash(cached.secretHash(), presentedHash)
+                && cached.expiresAtMillis() - now > reissueBeforeExpirySeconds * 1000) {
+            return toResponse(cached, now);
+        }
+
+        long generation = generations.getOrDefault(clientId, 0L);
+        ServiceAccount account = serviceAccountRepository.findByClientIdWithRoles(clientId)
+                .filter(ServiceAccount::getEnabled)
+                .orElseThrow(() -> new AppException(ErrorCode.INVALID_CLIENT));
+        if (!ClientSecretHasher.sameHash(account.getSecretHash(), presentedHash)) {
+            log.warn("Client credentials rejected for client: {}", clientId);
+            throw new AppException(ErrorCode.INVALID_CLIENT);
+        }
+
+        List<String> granted = grantedRoles(account, key.scope());
+        String jwtId = jwtTokenService.newJwtId();
+        String token = jwtTokenService.generateServiceToken(jwtId, clientId, granted, tokenValidSeconds);
+        CachedToken issued = new CachedToken(token, jwtId, presentedHash,
+                String.join(" ", granted), now + tokenValidSeconds * 1000);
+        if (tokens.size() >= SWEEP_THRESHOLD) {
+            tokens.values().removeIf(t -> t.expiresAtMillis() <= now);
+        }
+        tokens.put(key, issued);
+        if (generations.getOrDefault(clientId, 0L) != generation) {
+            // Evicted while the account was loading: the secret checked above may be stale
+            tokens.remove(key, issued);
+        }
+        log.info("Issued service token for client: {} - scope: {}", clientId, issued.scope());
+        return toResponse(issued, now);
+    }
+
+    /**
+     * Drops every cached token of a client, e.g. after its secret or roles changed.
+     */
+    public void evict(String clientId) {
+        generations.merge(clientId, 1L, Long::sum);
+        tokens.keySet().removeIf(key -> key.clientId().equals(clientId));
+    }
+
+    @EventListener
+    public void onTokenInvalidated(TokenInvalidatedEvent event) {
+        tokens.values().removeIf(t -> t.jwtId().equals(event.jwtId()));
+    }
+
+    /**
+     * Requested role codes, upper-cased, sorted and without the {@code ROLE_}
+     * prefix; empty for "all roles of the account".
+     */
+    private static String normalizeScope(String scope) {
+        if (scope == null || scope.isBlank()) {
+            return "";
+        }
+        Set<String> codes = new TreeSet<>();
+        for (String value : scope.trim().split("\\s+")) {
+            String code = value.toUpperCase(Locale.ROOT);
+            codes.add(code.startsWith(ROLE_PREFIX) ? code.substring(ROLE_PREFIX.length()) : code);
+        }
+        return String.join(" ", codes);
+    }
+
+    private static List<String> grantedRoles(ServiceAccount account, String requested) {
+        Set<String> owned = account.getRoles() == null ? Set.of()
+                : account.getRoles().stream().map(Role::getCode).collect(Collectors.toCollection(TreeSet::new));
+        if (requested.isEmpty()) {
+            return new ArrayList<>(owned);
+        }
+        List<String> codes = Arrays.asList(requested.split(" "));
+        if (!owned.containsAll(codes)) {
+            throw new AppException(ErrorCode.INVALID_SCOPE);
+        }
+        return codes;
+    }
+
+    private static ClientCredentialsResponse toResponse(CachedToken token, long now) {
+        return ClientCredentialsResponse.builder()
+                .accessToken(token.token())
+                .tokenType("Bearer")
+                .expiresIn((token.expiresAtMillis() - now) / 1000)
+                .scope(token.scope())
+                .build();
+    }
+}
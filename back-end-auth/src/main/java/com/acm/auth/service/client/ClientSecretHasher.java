@@ -0,0 +1,63 @@
+package com.acm.auth.service.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates and hashes service-account client secrets.
+ *
+ * Secrets are 256 random bits generated here, never chosen by people, so a
+ * keyed HMAC is enough to protect them at rest: there is nothing for a slow
+ * hash like BCrypt to defend against, and verification costs microseconds.
+ */
+@Component
+public class ClientSecretHasher {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public ClientSecretHasher(@Value("${app.service-accounts.secret-key}") String secretKey) {
+        if (secretKey == null || secretKey.isBlank()) {
+            throw new IllegalStateException(
+                    "Service account secret key is missing. Please set app.service-accounts.secret-key.");
+        }
+        this.key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    public String newSecret() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public String hash(String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return Base64.getEncoder().encodeToString(mac.doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to hash client secret", e);
+        }
+    }
+
+    /**
+     * Constant-time comparison of two hashes produced by {@link #hash(String)}.
+     */
+    public static boolean sameHash(String a, String b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.US_ASCII), b.getBytes(StandardCharsets.US_ASCII));
+    }
+}
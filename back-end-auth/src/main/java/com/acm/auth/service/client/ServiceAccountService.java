@@ -0,0 +1,129 @@
+package com.acm.auth.service.client;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.acm.auth.dto.request.CreateServiceAccountRequest;
+import com.acm.auth.dto.response.ServiceAccountResponse;
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.ServiceAccount;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.RoleRepository;
+import com.acm.auth.repository.ServiceAccountRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for managing service accounts (ADMIN only).
+ * Client secrets are generated here and returned once; only their HMAC is stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceAccountService {
+
+    private final ServiceAccountRepository serviceAccountRepository;
+    private final RoleRepository roleRepository;
+    private final ClientSecretHasher secretHasher;
+    private final ClientCredentialsService clientCredentialsService;
+
+    public List<ServiceAccountResponse> getAll() {
+        return serviceAccountRepository.findAll().stream()
+                .map(account -> toResponse(account, null))
+                .toList();
+    }
+
+    @Transactional
+    public ServiceAccountResponse create(CreateServiceAccountRequest request) {
+        if (serviceAccountRepository.existsByClientId(request.getClientId())) {
+            throw new AppException(ErrorCode.SERVICE_ACCOUNT_ALREADY_EXISTS);
+        }
+
+        String secret = secretHasher.newSecret();
+        ServiceAccount account = ServiceAccount.builder()
+                .clientId(request.getClientId())
+                .name(request.getName())
+                .secretHash(secretHasher.hash(secret))
+                .roles(resolveRoles(request.getRoles()))
+                .createdAt(LocalDateTime.now())
+                .build();
+        account = serviceAccountRepository.save(account);
+        log.info("Service account created: {}", account.getClientId());
+
+        return toResponse(account, secret);
+    }
+
+    /**
+     * Replaces the client secret; tokens issued under the old one are no longer reused.
+     */
+    @Transactional
+    public ServiceAccountResponse rotateSecret(String clientId) {
+        ServiceAccount account = find(clientId);
+        String secret = secretHasher.newSecret();
+        account.setSecretHash(secretHasher.hash(secret));
+        account = serviceAccountRepository.save(account);
+        evictAfterCommit(clientId);
+        log.info("Service account secret rotated: {}", clientId);
+
+        return toResponse(account, secret);
+    }
+
+    @Transactional
+    public void delete(String clientId) {
+        serviceAccountRepository.delete(find(clientId));
+        evictAfterCommit(clientId);
+        log.info("Service account deleted: {}", clientId);
+    }
+
+    /**
+     * Until the commit, a concurrent token request still reads the old secret
+     * and could cache a token for it again; evicting afterwards closes that.
+     */
+    private void evictAfterCommit(String clientId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clientCredentialsService.evict(clientId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clientCredentialsService.evict(clientId);
+            }
+        });
+    }
+
+    private ServiceAccount find(String clientId) {
+        return serviceAccountRepository.findByClientIdWithRoles(clientId)
+                .orElseThrow(() -> new AppException(ErrorCode.SERVICE_ACCOUNT_NOT_FOUND));
+    }
+
+    private Set<Role> resolveRoles(List<String> codes) {
+        Set<Role> roles = new HashSet<>();
+        for (String code : codes) {
+            roles.add(roleRepository.findByCode(code.toUpperCase())
+                    .orElseThrow(() -> new AppException(ErrorCode.ROLE_NOT_FOUND)));
+        }
+        return roles;
+    }
+
+    private ServiceAccountResponse toResponse(ServiceAccount account, String secret) {
+        return ServiceAccountResponse.builder()
+                .clientId(account.getClientId())
+                .name(account.getName())
+                .roles(account.getRoles() == null ? List.of()
+                        : account.getRoles().stream().map(Role::getCode).sorted().toList())
+                .enabled(account.getEnabled())
+                .createdAt(account.getCreatedAt())
+                .clientSecret(secret)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.acm.auth.service.email;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.service.EmailService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorates an {@link EmailService} with a hard call deadline and a circuit
+ * breaker. Sends run on a small bounded executor so a hanging provider can
+ * never hold more than a fixed number of threads; callers wait at most
+ * {@code callTimeout} and fail fast while the circuit is open.
+ */
+@Slf4j
+public class CircuitBreakerEmailService implements EmailService {
+
+    private final EmailService delegate;
+    private final EmailCircuitBreaker circuitBreaker;
+    private final AsyncTaskExecutor executor;
+    private final Duration callTimeout;
+    private final Counter rejectedCounter;
+
+    public CircuitBreakerEmailService(EmailService delegate, EmailCircuitBreaker circuitBreaker,
+            AsyncTaskExecutor executor, Duration callTimeout, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.executor = executor;
+        this.callTimeout = callTimeout;
+        this.rejectedCounter = meterRegistry.counter("email.circuit.rejected");
+    }
+
+    @Override
+    public void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds, Locale locale) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedCounter.increment();
+            log.warn("Email circuit open - OTP email to {} for purpose {} rejected", to, purpose);
+            throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+        }
+
+        long start = System.nanoTime();
+        Future<?> future;
+        try {
+            future = executor.submit(() -> delegate.sendOtpEmail(to, otp, purpose, expiresInSeconds, locale));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.onError(elapsedSince(start));
+            rejectedCounter.increment();
+            log.warn("Email executor saturated - OTP email to {} for purpose {} rejected", to, purpose);
+            throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+        }
+
+        try {
+            future.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess(elapsedSince(start));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onError(elapsedSince(start));
+            log.warn("OTP email to {} timed out after {} ms", to, callTimeout.toMillis());
+            throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            circuitBreaker.onError(elapsedSince(start));
+            log.error("OTP email to {} failed: {}", to, e.getCause().getMessage());
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.onError(elapsedSince(start));
+            throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+        }
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
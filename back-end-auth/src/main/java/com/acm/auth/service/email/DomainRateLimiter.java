@@ -0,0 +1,102 @@
+package com.acm.auth.service.email;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter keyed by recipient domain.
+ *
+ * Each domain gets {@code burst} tokens that refill at {@code permitsPerSecond}.
+ * Full buckets are indistinguishable from new ones, so they are periodically
+ * evicted to keep one-off domains from accumulating.
+ */
+public class DomainRateLimiter {
+
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoTime;
+    private long lastEvictionNanos;
+
+    public DomainRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    DomainRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Domain rate limit and burst must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.nanoTime = nanoTime;
+        this.lastEvictionNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes one token for the recipient's domain.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String recipient) {
+        String domain = domainOf(recipient);
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            evictIdle(now);
+            Bucket bucket = buckets.computeIfAbsent(domain, key -> new Bucket(burst, now));
+            bucket.refill(now, permitsPerNano, burst);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / permitsPerNano));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String domainOf(String recipient) {
+        int at = recipient.lastIndexOf('@');
+        return (at >= 0 ? recipient.substring(at + 1) : recipient).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void evictIdle(long now) {
+        if (now - lastEvictionNanos < EVICTION_INTERVAL_NANOS) {
+            return;
+        }
+        lastEvictionNanos = now;
+        for (Iterator<Bucket> it = buckets.values().iterator(); it.hasNext();) {
+            Bucket bucket = it.next();
+            bucket.refill(now, permitsPerNano, burst);
+            if (bucket.tokens >= burst) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now, double permitsPerNano, double burst) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(burst, tokens + elapsed * permitsPerNano);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.acm.auth.service.email;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker guarding the email provider.
+ *
+ * The breaker keeps the outcome of the last {@code windowSize} calls and opens
+ * when either the failure rate or the slow-call rate crosses its threshold.
+ * After {@code openDuration} it lets a few trial calls through (HALF_OPEN) and
+ * closes again only if all of them succeed in time.
+ */
+@Slf4j
+public class EmailCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    public record Settings(
+            int windowSize,
+            int minimumCalls,
+            float failureRateThreshold,
+            float slowCallRateThreshold,
+            Duration slowCallDuration,
+            Duration openDuration,
+            int halfOpenPermits) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Settings settings;
+    private final Clock clock;
+    private final Consumer<EmailCircuitStateChangedEvent> listener;
+
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenIssued;
+    private int halfOpenSucceeded;
+
+    public EmailCircuitBreaker(Settings settings, Clock clock, Consumer<EmailCircuitStateChangedEvent> listener) {
+        if (settings.windowSize() <= 0 || settings.halfOpenPermits() <= 0) {
+            throw new IllegalArgumentException("Circuit breaker window size and half-open permits must be positive");
+        }
+        this.settings = settings;
+        this.clock = clock;
+        this.listener = listener;
+        this.failed = new boolean[settings.windowSize()];
+        this.slow = new boolean[settings.windowSize()];
+    }
+
+    /**
+     * Returns true if a call may proceed. Every permitted call must be followed
+     * by exactly one {@link #onSuccess(Duration)} or {@link #onError(Duration)}.
+     */
+    public boolean tryAcquirePermission() {
+        EmailCircuitStateChangedEvent transition = null;
+        boolean permitted;
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (clock.instant().isBefore(openedAt.plus(settings.openDuration()))) {
+                    return false;
+                }
+                transition = transitionTo(State.HALF_OPEN, "open duration elapsed");
+            }
+            if (state == State.HALF_OPEN) {
+                permitted = halfOpenIssued < settings.halfOpenPermits();
+                if (permitted) {
+                    halfOpenIssued++;
+                }
+            } else {
+                permitted = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(transition);
+        return permitted;
+    }
+
+    public void onSuccess(Duration elapsed) {
+        record(false, isSlow(elapsed));
+    }
+
+    public void onError(Duration elapsed) {
+        record(true, isSlow(elapsed));
+    }
+
+    /**
+     * True while the breaker is open and its wait duration has not yet elapsed,
+     * i.e. a call attempted now would be rejected.
+     */
+    public boolean isRejecting() {
+        lock.lock();
+        try {
+            return state == State.OPEN && clock.instant().isBefore(openedAt.plus(settings.openDuration()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isSlow(Duration elapsed) {
+        return elapsed.compareTo(settings.slowCallDuration()) >= 0;
+    }
+
+    private void record(boolean isFailure, boolean isSlow) {
+        EmailCircuitStateChangedEvent transition = null;
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> transition = recordClosed(isFailure, isSlow);
+                case HALF_OPEN -> {
+                    if (isFailure || isSlow) {
+                        transition = transitionTo(State.OPEN, isFailure ? "trial call failed" : "trial call too slow");
+                    } else if (++halfOpenSucceeded >= settings.halfOpenPermits()) {
+                        transition = transitionTo(State.CLOSED, "trial calls succeeded");
+                    }
+                }
+                case OPEN -> {
+                    // Late result of a call started before the breaker opened
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(transition);
+    }
+
+    private EmailCircuitStateChangedEvent recordClosed(boolean isFailure, boolean isSlow) {
+        if (recorded == failed.length) {
+            if (failed[next]) {
+                failures--;
+            }
+            if (slow[next]) {
+                slowCalls--;
+            }
+        } else {
+            recorded++;
+        }
+        failed[next] = isFailure;
+        slow[next] = isSlow;
+        if (isFailure) {
+            failures++;
+        }
+        if (isSlow) {
+            slowCalls++;
+        }
+        next = (next + 1) % failed.length;
+
+        if (recorded < settings.minimumCalls()) {
+            return null;
+        }
+        float failureRate = failures * 100f / recorded;
+        float slowCallRate = slowCalls * 100f / recorded;
+        if (failureRate >= settings.failureRateThreshold()) {
+            return transitionTo(State.OPEN, "failure rate %.1f%%".formatted(failureRate));
+        }
+        if (slowCallRate >= settings.slowCallRateThreshold()) {
+            return transitionTo(State.OPEN, "slow call rate %.1f%%".formatted(slowCallRate));
+        }
+        return null;
+    }
+
+    private EmailCircuitStateChangedEvent transitionTo(State target, String reason) {
+        State previous = state;
+        state = target;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        halfOpenIssued = 0;
+        halfOpenSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = clock.instant();
+        }
+        return new EmailCircuitStateChangedEvent(previous, target, reason, clock.instant());
+    }
+
+    private void publish(EmailCircuitStateChangedEvent transition) {
+        if (transition == null) {
+            return;
+        }
+        log.warn("Email circuit breaker {} -> {} ({})", transition.from(), transition.to(), transition.reason());
+        listener.accept(transition);
+    }
+}
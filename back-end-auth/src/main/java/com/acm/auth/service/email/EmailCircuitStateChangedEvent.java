@@ -0,0 +1,14 @@
+package com.acm.auth.service.email;
+
+import java.time.Instant;
+
+/**
+ * Published through the application context whenever the email circuit breaker
+ * changes state.
+ */
+public record EmailCircuitStateChangedEvent(
+        EmailCircuitBreaker.State from,
+        EmailCircuitBreaker.State to,
+        String reason,
+        Instant occurredAt) {
+}
@@ -0,0 +1,68 @@
+package com.acm.auth.service.email;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.service.email.template.OtpEmailComposer;
+import com.acm.auth.service.email.template.RenderedEmail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Fills a {@link MimeMessage} with a rendered OTP email, shared by every transport.
+ */
+@Component
+public class OtpMessageFactory {
+
+    private final OtpEmailComposer otpEmailComposer;
+    private final String from;
+    private final String fromName;
+
+    public OtpMessageFactory(OtpEmailComposer otpEmailComposer,
+            @Value("${app.mail.from}") String from,
+            @Value("${app.mail.from-name:Auth Service}") String fromName) {
+        this.otpEmailComposer = otpEmailComposer;
+        this.from = from;
+        this.fromName = fromName;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    /**
+     * Builds a multipart message (plain text + HTML alternatives), or a plain
+     * text message when the template has no HTML part.
+     */
+    public void populate(MimeMessage message, String to, String otp, OtpPurpose purpose, long expiresInSeconds,
+            Locale locale) {
+        RenderedEmail email = otpEmailComposer.compose(purpose, otp, expiresInSeconds, locale);
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message,
+                    email.html() != null ? MimeMessageHelper.MULTIPART_MODE_RELATED : MimeMessageHelper.MULTIPART_MODE_NO,
+                    StandardCharsets.UTF_8.name());
+            helper.setTo(to);
+            if (fromName == null || fromName.isBlank()) {
+                helper.setFrom(from);
+            } else {
+                helper.setFrom(from, fromName);
+            }
+            helper.setSubject(email.subject());
+            if (email.html() != null) {
+                helper.setText(email.text(), email.html());
+            } else {
+                helper.setText(email.text());
+            }
+        } catch (MessagingException | UnsupportedEncodingException e) {
+            throw new MailPreparationException("Failed to build OTP email", e);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.acm.auth.service.email;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.service.EmailService;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous OTP email pipeline in front of the delivery transport.
+ *
+ * Messages are held in an insertion-ordered map keyed by recipient address and
+ * {@link OtpPurpose}: a newer OTP for the same key replaces the pending one, so
+ * users hammering "resend" cause a single delivery of the latest code. Worker
+ * threads pick the oldest message whose recipient domain still has a token in
+ * its bucket, so a throttled domain never delays the others.
+ *
+ * Each message carries the context (trace, MDC) of the request that queued
+ * it, restored around delivery so the send is traced as part of that request.
+ */
+@Slf4j
+public class QueuedEmailService implements EmailService, AutoCloseable {
+
+    public record Settings(int capacity, int workers, int maxAttempts, Duration retryDelay) {
+    }
+
+    private record Key(String address, OtpPurpose purpose) {
+    }
+
+    private static final ContextSnapshotFactory CONTEXT = ContextSnapshotFactory.builder().build();
+
+    private static final class PendingEmail {
+        private final String to;
+        private final String otp;
+        private final OtpPurpose purpose;
+        private final Instant expiresAt;
+        private final Locale locale;
+        private final ContextSnapshot context;
+        private int attempts;
+        private long notBeforeNanos;
+
+        private PendingEmail(String to, String otp, OtpPurpose purpose, Instant expiresAt, Locale locale) {
+            this.to = to;
+            this.otp = otp;
+            this.purpose = purpose;
+            this.expiresAt = expiresAt;
+            this.locale = locale;
+            this.context = CONTEXT.captureAll();
+        }
+    }
+
+    private final EmailService delegate;
+    private final DomainRateLimiter rateLimiter;
+    private final BooleanSupplier deliveryUnavailable;
+    private final Settings settings;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<Key, PendingEmail> pending = new LinkedHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Counter coalescedCounter;
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+
+    public QueuedEmailService(EmailService delegate, DomainRateLimiter rateLimiter,
+            BooleanSupplier deliveryUnavailable, Settings settings, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.deliveryUnavailable = deliveryUnavailable;
+        this.settings = settings;
+        this.clock = clock;
+        this.coalescedCounter = meterRegistry.counter("email.queue.coalesced");
+        this.deliveredCounter = meterRegistry.counter("email.queue.delivered");
+        this.retriedCounter = meterRegistry.counter("email.queue.retried");
+        this.droppedCounter = meterRegistry.counter("email.queue.dropped");
+        Gauge.builder("email.queue.size", this, QueuedEmailService::size).register(meterRegistry);
+    }
+
+    public void start(ThreadFactory threadFactory) {
+        running = true;
+        for (int i = 0; i < settings.workers(); i++) {
+            Thread worker = threadFactory.newThread(this::dispatchLoop);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @Override
+    public void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds, Locale locale) {
+        if (deliveryUnavailable.getAsBoolean()) {
+            log.warn("Email delivery unavailable - OTP email to {} for purpose {} rejected", to, purpose);
+            throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+        }
+
+        PendingEmail email = new PendingEmail(to, otp, purpose,
+                clock.instant().plus(expiresInSeconds, ChronoUnit.SECONDS), locale);
+        Key key = keyOf(email);
+
+        // Enqueue only once the OTP row is committed, so a rolled-back OTP is never mailed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            ensureCapacity(key);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        enqueue(key, email);
+                    } catch (AppException e) {
+                        droppedCounter.increment();
+                        log.warn("Email queue full after commit - OTP email to {} dropped", to);
+                    }
+                }
+            });
+        } else {
+            enqueue(key, email);
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Thread worker : workers) {
+            worker.join(Duration.ofSeconds(5).toMillis());
+        }
+        int remaining = size();
+        if (remaining > 0) {
+            log.warn("Email queue stopped with {} undelivered OTP emails", remaining);
+        }
+    }
+
+    private void ensureCapacity(Key key) {
+        lock.lock();
+        try {
+            if (pending.size() >= settings.capacity() && !pending.containsKey(key)) {
+                throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Key key, PendingEmail email) {
+        lock.lock();
+        try {
+            PendingEmail previous = pending.get(key);
+            if (previous != null) {
+                // Keep the queue position of the older message, deliver the newest code
+                pending.put(key, email);
+                coalescedCounter.increment();
+                log.debug("Coalesced pending OTP email to {} for purpose {}", email.to, email.purpose);
+            } else {
+                if (pending.size() >= settings.capacity()) {
+                    throw new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE);
+                }
+                pending.put(key, email);
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            PendingEmail next;
+            try {
+                next = awaitNext();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (next != null) {
+                deliver(next);
+            }
+        }
+    }
+
+    private PendingEmail awaitNext() throws InterruptedException {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long waitNanos = Long.MAX_VALUE;
+            for (Iterator<PendingEmail> it = pending.values().iterator(); it.hasNext();) {
+                PendingEmail candidate = it.next();
+                if (candidate.notBeforeNanos - now > 0) {
+                    waitNanos = Math.min(waitNanos, candidate.notBeforeNanos - now);
+                    continue;
+                }
+                long throttledNanos = rateLimiter.tryAcquire(candidate.to);
+                if (throttledNanos == 0) {
+                    it.remove();
+                    return candidate;
+                }
+                waitNanos = Math.min(waitNanos, throttledNanos);
+            }
+            if (!running) {
+                return null;
+            }
+            if (waitNanos == Long.MAX_VALUE) {
+                changed.await();
+            } else {
+                changed.awaitNanos(waitNanos);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deliver(PendingEmail email) {
+        long remainingSeconds = ChronoUnit.SECONDS.between(clock.instant(), email.expiresAt);
+        if (remainingSeconds <= 0) {
+            droppedCounter.increment();
+            log.info("OTP email to {} for purpose {} expired before delivery", email.to, email.purpose);
+            return;
+        }
+        try (ContextSnapshot.Scope scope = email.context.setThreadLocals()) {
+            delegate.sendOtpEmail(email.to, email.otp, email.purpose, remainingSeconds, email.locale);
+            deliveredCounter.increment();
+        } catch (RuntimeException e) {
+            retry(email, e);
+        }
+    }
+
+    private void retry(PendingEmail email, RuntimeException cause) {
+        lock.lock();
+        try {
+            Key key = keyOf(email);
+            if (pending.containsKey(key)) {
+                // A newer code is already waiting; the failed one is obsolete
+                return;
+            }
+            if (++email.attempts >= settings.maxAttempts() || !running) {
+                droppedCounter.increment();
+                log.error("OTP email to {} for purpose {} dropped after {} attempts: {}",
+                        email.to, email.purpose, email.attempts, cause.getMessage());
+                return;
+            }
+            email.notBeforeNanos = System.nanoTime() + settings.retryDelay().toNanos();
+            pending.put(key, email);
+            retriedCounter.increment();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Key keyOf(PendingEmail email) {
+        return new Key(email.to.trim().toLowerCase(Locale.ROOT), email.purpose);
+    }
+}
@@ -0,0 +1,249 @@
+package com.acm.auth.service.email;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.mail.MailSendException;
+
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.service.EmailService;
+import com.acm.auth.service.jfr.EmailDispatchEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands OTP emails to a local MTA through a maildir-style spool directory.
+ *
+ * Each message is written in RFC 5322 form to {@code tmp/} under a unique
+ * name and later moved atomically into {@code new/}, where the relay picks it
+ * up; a reader therefore never sees a partial file. Durability is group
+ * committed: a flush fsyncs every staged file, renames them and fsyncs
+ * {@code new/} once, and runs when the batch is full or the flush interval
+ * elapses. With a batch size of 1 every send is flushed before returning.
+ */
+@Slf4j
+public class SpoolEmailService implements EmailService, AutoCloseable {
+
+    public record Settings(Path directory, int batchSize, Duration flushInterval) {
+    }
+
+    private record Staged(FileChannel channel, String name) {
+    }
+
+    private static final int INITIAL_MESSAGE_BUFFER = 8 * 1024;
+
+    private final OtpMessageFactory messageFactory;
+    private final Settings settings;
+    private final Session session;
+    private final Path tmpDir;
+    private final Path newDir;
+    private final String uniqueSuffix;
+    private final String hostSuffix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private List<Staged> staged = new ArrayList<>();
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final Counter spooledCounter;
+    private final Counter failedCounter;
+
+    public SpoolEmailService(OtpMessageFactory messageFactory, Settings settings, MeterRegistry meterRegistry)
+            throws IOException {
+        this.messageFactory = messageFactory;
+        this.settings = settings;
+        this.tmpDir = Files.createDirectories(settings.directory().resolve("tmp"));
+        this.newDir = Files.createDirectories(settings.directory().resolve("new"));
+        Files.createDirectories(settings.directory().resolve("cur"));
+
+        // mail.from lets Message-ID generation skip the local host name lookup
+        Properties properties = new Properties();
+        properties.setProperty("mail.from", messageFactory.getFrom());
+        this.session = Session.getInstance(properties);
+
+        String host = InetAddress.getLocalHost().getHostName().replace("/", "\\057").replace(":", "\\072");
+        this.uniqueSuffix = ".P" + ProcessHandle.current().pid() + "Q";
+        this.hostSuffix = "." + host;
+
+        this.spooledCounter = meterRegistry.counter("email.spool.written");
+        this.failedCounter = meterRegistry.counter("email.spool.failed");
+    }
+
+    public void start(ThreadFactory threadFactory) {
+        running = true;
+        if (settings.batchSize() > 1) {
+            flusher = threadFactory.newThread(this::flushLoop);
+            flusher.start();
+        }
+    }
+
+    @Override
+    public void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds, Locale locale) {
+        EmailDispatchEvent event = EmailDispatchEvent.start(EmailDispatchEvent.SPOOL, purpose);
+        MimeMessage message = new MimeMessage(session);
+        messageFactory.populate(message, to, otp, purpose, expiresInSeconds, locale);
+
+        String name = nextName();
+        Path file = tmpDir.resolve(name);
+        FileChannel channel = null;
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_MESSAGE_BUFFER);
+            message.writeTo(out);
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException | MessagingException e) {
+            closeQuietly(channel);
+            deleteQuietly(file);
+            failedCounter.increment();
+            event.finish(e.getClass().getSimpleName());
+            throw new MailSendException("Failed to spool OTP email", e);
+        }
+
+        stage(new Staged(channel, name));
+        spooledCounter.increment();
+        event.finish("spooled");
+        log.debug("OTP email to {} for purpose {} spooled as {}", to, purpose, name);
+    }
+
+    /**
+     * Makes every staged message durable and visible to the relay.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Staged> batch;
+            lock.lock();
+            try {
+                if (staged.isEmpty()) {
+                    return;
+                }
+                batch = staged;
+                staged = new ArrayList<>(settings.batchSize());
+            } finally {
+                lock.unlock();
+            }
+
+            int moved = 0;
+            for (Staged message : batch) {
+                Path file = tmpDir.resolve(message.name());
+                try (FileChannel channel = message.channel()) {
+                    channel.force(false);
+                    channel.close();
+                    Files.move(file, newDir.resolve(message.name()), StandardCopyOption.ATOMIC_MOVE);
+                    moved++;
+                } catch (IOException e) {
+                    failedCounter.increment();
+                    deleteQuietly(file);
+                    log.error("Failed to hand off spooled email {}: {}", message.name(), e.getMessage());
+                }
+            }
+            if (moved > 0) {
+                syncDirectory(newDir);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            flushRequested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.join(Duration.ofSeconds(5).toMillis());
+        }
+        flush();
+    }
+
+    private void stage(Staged message) {
+        boolean full;
+        lock.lock();
+        try {
+            staged.add(message);
+            full = staged.size() >= settings.batchSize();
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            lock.lock();
+            try {
+                flushRequested.awaitNanos(settings.flushInterval().toNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            flush();
+        }
+    }
+
+    private String nextName() {
+        return System.currentTimeMillis() / 1000 + uniqueSuffix + sequence.incrementAndGet() + hostSuffix;
+    }
+
+    private static void syncDirectory(Path directory) {
+        // Persists the renames; not every platform allows opening a directory
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Directory fsync not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // leftover tmp/ files are cleaned up by the relay
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.acm.auth.service.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template compiled once into alternating literal segments and variable slots.
+ *
+ * Placeholders use the {@code {{name}}} syntax and must name one of the
+ * variables the template was compiled against. Rendering is a single pass
+ * into a pre-sized builder; values are HTML-escaped for HTML templates.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+    private final boolean html;
+
+    private EmailTemplate(String[] literals, int[] slots, boolean html) {
+        this.literals = literals;
+        this.slots = slots;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source, List<String> variables, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int slot = variables.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown template variable '" + name + "'");
+            }
+            literals.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        return new EmailTemplate(
+                literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                html);
+    }
+
+    /**
+     * Renders the template; {@code values} are indexed like the variable list
+     * the template was compiled with.
+     */
+    public String render(String[] values) {
+        StringBuilder out = new StringBuilder(literalLength + slots.length * ESTIMATED_VALUE_LENGTH);
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = values[slots[i]];
+            if (html) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+            out.append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.acm.auth.service.email.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads and compiles email templates once at startup.
+ *
+ * Files are named {@code <name>[_<locale>].<part>} where part is
+ * {@code subject}, {@code txt} or {@code html}, e.g. {@code otp-register_vi.html}.
+ * Lookups fall back from {@code vi_VN} to {@code vi} to the default locale.
+ * Templates are indexed by the locale in their file name, so the lookup
+ * tables only ever hold what is on disk, whatever locales clients ask for.
+ * With hot reload enabled (development only) the location is rescanned at
+ * most once per second and changed files recompiled.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRegistry {
+
+    /**
+     * Variables available to every email template, in slot order.
+     */
+    public static final List<String> VARIABLES = List.of("otp", "minutes", "appName");
+
+    private static final long HOT_RELOAD_INTERVAL_NANOS = 1_000_000_000L;
+
+    public record TemplateSet(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+    }
+
+    private record Snapshot(Map<String, Map<Locale, TemplateSet>> byName, int count,
+            Map<String, Long> lastModified) {
+    }
+
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    private final String location;
+    private final boolean hotReload;
+
+    private volatile Snapshot snapshot;
+    private volatile long lastScanNanos;
+
+    public EmailTemplateRegistry(
+            @Value("${app.mail.templates.location:classpath:templates/email/}") String location,
+            @Value("${app.mail.templates.hot-reload:false}") boolean hotReload) {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.hotReload = hotReload;
+        this.snapshot = load();
+        this.lastScanNanos = System.nanoTime();
+        log.info("Loaded {} email templates from {}{}", snapshot.count(), this.location,
+                hotReload ? " (hot reload enabled)" : "");
+    }
+
+    /**
+     * Returns the best template set for the given name and locale.
+     *
+     * @throws IllegalStateException if no default template exists for the name
+     */
+    public TemplateSet resolve(String name, Locale locale) {
+        if (hotReload) {
+            reloadIfChanged();
+        }
+        Map<Locale, TemplateSet> byLocale = snapshot.byName().get(name);
+        if (byLocale == null) {
+            throw new IllegalStateException("No email template named '" + name + "' in " + location);
+        }
+        TemplateSet set = byLocale.get(locale);
+        if (set == null) {
+            set = byLocale.get(Locale.of(locale.getLanguage()));
+        }
+        if (set == null) {
+            set = byLocale.get(Locale.ROOT);
+        }
+        if (set == null) {
+            throw new IllegalStateException("No default email template named '" + name + "' in " + location);
+        }
+        return set;
+    }
+
+    private void reloadIfChanged() {
+        long now = System.nanoTime();
+        if (now - lastScanNanos < HOT_RELOAD_INTERVAL_NANOS) {
+            return;
+        }
+        lastScanNanos = now;
+        try {
+            if (!lastModified(scan()).equals(snapshot.lastModified())) {
+                snapshot = load();
+                log.info("Email templates reloaded from {}", location);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Email template reload failed, keeping previous templates: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot load() {
+        try {
+            Resource[] resources = scan();
+            Map<String, Map<String, String>> partsByKey = new HashMap<>();
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                int dot = filename.lastIndexOf('.');
+                if (dot <= 0) {
+                    continue;
+                }
+                String part = filename.substring(dot + 1);
+                if (!part.equals("subject") && !part.equals("txt") && !part.equals("html")) {
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    partsByKey.computeIfAbsent(filename.substring(0, dot), key -> new HashMap<>())
+                            .put(part, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+
+            Map<String, Map<Locale, TemplateSet>> templates = new HashMap<>();
+            partsByKey.forEach((key, parts) -> {
+                if (!parts.containsKey("subject") || !parts.containsKey("txt")) {
+                    throw new IllegalStateException("Email template '" + key + "' needs .subject and .txt parts");
+                }
+                int underscore = key.indexOf('_');
+                String name = underscore < 0 ? key : key.substring(0, underscore);
+                Locale locale = underscore < 0 ? Locale.ROOT
+                        : Locale.forLanguageTag(key.substring(underscore + 1).replace('_', '-'));
+                templates.computeIfAbsent(name, n -> new HashMap<>()).put(locale, new TemplateSet(
+                        EmailTemplate.compile(parts.get("subject").strip(), VARIABLES, false),
+                        EmailTemplate.compile(parts.get("txt"), VARIABLES, false),
+                        parts.containsKey("html") ? EmailTemplate.compile(parts.get("html"), VARIABLES, true) : null));
+            });
+            Map<String, Map<Locale, TemplateSet>> byName = new HashMap<>();
+            templates.forEach((name, byLocale) -> byName.put(name, Map.copyOf(byLocale)));
+            return new Snapshot(Map.copyOf(byName), partsByKey.size(), lastModified(resources));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load email templates from " + location, e);
+        }
+    }
+
+    private Resource[] scan() throws IOException {
+        return resolver.getResources(location + "*.*");
+    }
+
+    private Map<String, Long> lastModified(Resource[] resources) {
+        Map<String, Long> result = new HashMap<>();
+        if (!hotReload) {
+            return result;
+        }
+        for (Resource resource : resources) {
+            try {
+                result.put(resource.getDescription(), resource.lastModified());
+            } catch (IOException e) {
+                result.put(resource.getDescription(), -1L);
+            }
+        }
+        return result;
+    }
+}
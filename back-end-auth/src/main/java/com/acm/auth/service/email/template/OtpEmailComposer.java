@@ -0,0 +1,40 @@
+package com.acm.auth.service.email.template;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.acm.auth.enums.OtpPurpose;
+
+/**
+ * Renders OTP emails from the precompiled templates in {@link EmailTemplateRegistry}.
+ */
+@Component
+public class OtpEmailComposer {
+
+    private final EmailTemplateRegistry templateRegistry;
+    private final String appName;
+
+    public OtpEmailComposer(EmailTemplateRegistry templateRegistry,
+            @Value("${app.mail.from-name:Auth Service}") String appName) {
+        this.templateRegistry = templateRegistry;
+        this.appName = appName;
+    }
+
+    public RenderedEmail compose(OtpPurpose purpose, String otp, long expiresInSeconds, Locale locale) {
+        EmailTemplateRegistry.TemplateSet templates = templateRegistry.resolve(templateName(purpose), locale);
+        String[] values = { otp, String.valueOf(Math.max(1, expiresInSeconds / 60)), appName };
+        return new RenderedEmail(
+                templates.subject().render(values),
+                templates.text().render(values),
+                templates.html() != null ? templates.html().render(values) : null);
+    }
+
+    private static String templateName(OtpPurpose purpose) {
+        return switch (purpose) {
+            case REGISTER -> "otp-register";
+            case RESET_PASSWORD -> "otp-reset-password";
+        };
+    }
+}
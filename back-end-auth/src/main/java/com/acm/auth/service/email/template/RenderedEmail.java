@@ -0,0 +1,7 @@
+package com.acm.auth.service.email.template;
+
+/**
+ * A fully rendered message; {@code html} is null when the template has no HTML part.
+ */
+public record RenderedEmail(String subject, String text, String html) {
+}
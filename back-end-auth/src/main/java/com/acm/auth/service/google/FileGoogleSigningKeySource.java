@@ -0,0 +1,33 @@
+package com.acm.auth.service.google;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Reads the JWK set from a local file, for tests and air-gapped deployments
+ * where the keys are mirrored out of band. The file is re-read every
+ * {@code reloadInterval}.
+ */
+public class FileGoogleSigningKeySource implements GoogleSigningKeySource {
+
+    private final Path file;
+    private final Duration reloadInterval;
+    private final Clock clock;
+
+    public FileGoogleSigningKeySource(Path file, Duration reloadInterval, Clock clock) {
+        this.file = file;
+        this.reloadInterval = reloadInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public GoogleSigningKeys fetch() throws IOException {
+        return new GoogleSigningKeys(
+                GoogleSigningKeys.parseJwks(Files.readString(file, StandardCharsets.UTF_8)),
+                clock.instant().plus(reloadInterval));
+    }
+}
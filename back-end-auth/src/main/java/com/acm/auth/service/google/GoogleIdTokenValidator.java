@@ -0,0 +1,203 @@
+package com.acm.auth.service.google;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.api.client.auth.openidconnect.IdToken;
+import com.google.api.client.auth.openidconnect.IdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifies Google ID tokens against locally cached signing keys.
+ *
+ * One instance is shared by all requests. Keys are refreshed in the background
+ * shortly before the expiry announced by the key source, so a login never
+ * waits on Google unless the cache is empty, expired after failed refreshes,
+ * or the token names a key id we have not seen yet (key rotation). Refreshes
+ * are single-flight; on failure the previous keys stay in use.
+ */
+@Slf4j
+public class GoogleIdTokenValidator implements AutoCloseable {
+
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(5);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration UNKNOWN_KEY_REFRESH_INTERVAL = Duration.ofSeconds(60);
+
+    /**
+     * Exposes the issuer, audience and expiry checks of {@link IdTokenVerifier}
+     * without its own signature lookup.
+     */
+    private static final class ClaimsVerifier extends IdTokenVerifier {
+        private ClaimsVerifier(IdTokenVerifier.Builder builder) {
+            super(builder);
+        }
+
+        private boolean verifyClaims(IdToken token) {
+            return verifyPayload(token);
+        }
+    }
+
+    private final GoogleSigningKeySource keySource;
+    private final ClaimsVerifier claimsVerifier;
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final Clock clock;
+    private final ScheduledExecutorService refresher;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Timer errorTimer;
+
+    private volatile GoogleSigningKeys keys;
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    public GoogleIdTokenValidator(GoogleSigningKeySource keySource, Collection<String> audience, Clock clock,
+            ThreadFactory threadFactory, MeterRegistry meterRegistry) {
+        this.keySource = keySource;
+        this.clock = clock;
+        this.claimsVerifier = new ClaimsVerifier(new IdTokenVerifier.Builder()
+                .setAudience(audience)
+                .setIssuers(ISSUERS)
+                .setClock(clock::millis));
+        this.refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.validTimer = meterRegistry.timer("auth.google.verify", "outcome", "valid");
+        this.invalidTimer = meterRegistry.timer("auth.google.verify", "outcome", "invalid");
+        this.errorTimer = meterRegistry.timer("auth.google.verify", "outcome", "error");
+    }
+
+    /**
+     * Loads the keys in the background and keeps them fresh.
+     */
+    public void start() {
+        refresher.execute(this::backgroundRefresh);
+    }
+
+    /**
+     * Returns the verified payload, or {@code null} if the token's signature
+     * or claims are invalid.
+     *
+     * @throws IOException if the token is malformed or no signing keys can be loaded
+     */
+    public GoogleIdToken.Payload verify(String idTokenString) throws IOException, GeneralSecurityException {
+        long start = System.nanoTime();
+        GoogleIdToken.Payload payload;
+        try {
+            payload = verifyToken(idTokenString);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        (payload != null ? validTimer : invalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return payload;
+    }
+
+    private GoogleIdToken.Payload verifyToken(String idTokenString) throws IOException, GeneralSecurityException {
+        GoogleIdToken token = GoogleIdToken.parse(jsonFactory, idTokenString);
+        if (!claimsVerifier.verifyClaims(token)) {
+            return null;
+        }
+
+        String keyId = token.getHeader().getKeyId();
+        GoogleSigningKeys current = currentKeys();
+        if (keyId != null && !current.byKeyId().containsKey(keyId)
+                && clock.instant().isAfter(lastRefresh.plus(UNKNOWN_KEY_REFRESH_INTERVAL))) {
+            current = refresh(current);
+        }
+
+        if (keyId != null) {
+            PublicKey key = current.byKeyId().get(keyId);
+            return key != null && token.verifySignature(key) ? token.getPayload() : null;
+        }
+        for (PublicKey key : current.byKeyId().values()) {
+            if (token.verifySignature(key)) {
+                return token.getPayload();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private GoogleSigningKeys currentKeys() throws IOException {
+        GoogleSigningKeys current = keys;
+        if (current == null || !clock.instant().isBefore(current.expiresAt())) {
+            current = refresh(current);
+        }
+        return current;
+    }
+
+    /**
+     * Fetches new keys unless another thread already replaced {@code seen}.
+     * When the fetch fails the keys in {@code seen} are kept for another retry delay.
+     */
+    private GoogleSigningKeys refresh(GoogleSigningKeys seen) throws IOException {
+        refreshLock.lock();
+        try {
+            GoogleSigningKeys current = keys;
+            if (current != seen) {
+                return current;
+            }
+            try {
+                GoogleSigningKeys fetched = keySource.fetch();
+                keys = fetched;
+                lastRefresh = clock.instant();
+                log.debug("Loaded {} Google signing keys, valid until {}", fetched.byKeyId().size(),
+                        fetched.expiresAt());
+                return fetched;
+            } catch (IOException | RuntimeException e) {
+                if (seen == null) {
+                    throw e instanceof IOException io ? io : new IOException(e);
+                }
+                log.warn("Google signing key refresh failed, keeping previous keys: {}", e.getMessage());
+                // Serve the previous keys for a while instead of refetching on every login
+                GoogleSigningKeys extended = new GoogleSigningKeys(seen.byKeyId(), clock.instant().plus(RETRY_DELAY));
+                keys = extended;
+                lastRefresh = clock.instant();
+                return extended;
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void backgroundRefresh() {
+        Duration delay = RETRY_DELAY;
+        try {
+            GoogleSigningKeys before = keys;
+            GoogleSigningKeys after = refresh(before);
+            if (after != before) {
+                Duration untilRefresh = Duration.between(clock.instant(), after.expiresAt().minus(REFRESH_AHEAD));
+                delay = untilRefresh.compareTo(RETRY_DELAY) > 0 ? untilRefresh : RETRY_DELAY;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Google signing keys unavailable, retrying in {}s: {}", RETRY_DELAY.toSeconds(), e.getMessage());
+        }
+        try {
+            refresher.schedule(this::backgroundRefresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Google signing key refresher stopped");
+        }
+    }
+}
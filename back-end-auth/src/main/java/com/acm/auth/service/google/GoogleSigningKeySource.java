@@ -0,0 +1,11 @@
+package com.acm.auth.service.google;
+
+import java.io.IOException;
+
+/**
+ * Where Google's ID-token signing keys come from.
+ */
+public interface GoogleSigningKeySource {
+
+    GoogleSigningKeys fetch() throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.acm.auth.service.google;
+
+import java.io.IOException;
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+
+/**
+ * Google's ID-token signing keys indexed by key id, valid until {@code expiresAt}.
+ */
+public record GoogleSigningKeys(Map<String, PublicKey> byKeyId, Instant expiresAt) {
+
+    /**
+     * Parses a JWK set document in the format served by
+     * {@code https://www.googleapis.com/oauth2/v3/certs}.
+     */
+    public static Map<String, PublicKey> parseJwks(String json) throws IOException {
+        try {
+            Map<String, PublicKey> keys = new HashMap<>();
+            for (JWK jwk : JWKSet.parse(json).getKeys()) {
+                if (jwk instanceof RSAKey rsaKey && rsaKey.getKeyID() != null) {
+                    keys.put(rsaKey.getKeyID(), rsaKey.toRSAPublicKey());
+                }
+            }
+            if (keys.isEmpty()) {
+                throw new IOException("JWK set contains no RSA signing keys");
+            }
+            return Map.copyOf(keys);
+        } catch (ParseException | JOSEException e) {
+            throw new IOException("Invalid JWK set: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.acm.auth.service.google;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
+
+/**
+ * Fetches the JWK set from Google over a shared transport and honours the
+ * {@code Cache-Control: max-age} and {@code Age} headers for the expiry.
+ */
+public class HttpGoogleSigningKeySource implements GoogleSigningKeySource {
+
+    private static final Pattern MAX_AGE = Pattern.compile("\\s*max-age\\s*=\\s*(\\d+)\\s*");
+    private static final long DEFAULT_CACHE_SECONDS = 3600;
+
+    private final HttpTransport transport;
+    private final GenericUrl url;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Clock clock;
+
+    public HttpGoogleSigningKeySource(HttpTransport transport, String url, Duration connectTimeout,
+            Duration readTimeout, Clock clock) {
+        this.transport = transport;
+        this.url = new GenericUrl(url);
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public GoogleSigningKeys fetch() throws IOException {
+        HttpRequest request = transport.createRequestFactory().buildGetRequest(url);
+        request.setConnectTimeout((int) connectTimeout.toMillis());
+        request.setReadTimeout((int) readTimeout.toMillis());
+        request.setNumberOfRetries(0);
+
+        HttpResponse response = request.execute();
+        try {
+            return new GoogleSigningKeys(
+                    GoogleSigningKeys.parseJwks(response.parseAsString()),
+                    clock.instant().plusSeconds(cacheSeconds(response.getHeaders())));
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    static long cacheSeconds(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return DEFAULT_CACHE_SECONDS;
+        }
+        for (String directive : cacheControl.split(",")) {
+            Matcher matcher = MAX_AGE.matcher(directive);
+            if (matcher.matches()) {
+                long age = headers.getAge() != null ? headers.getAge() : 0;
+                return Math.max(0, Long.parseLong(matcher.group(1)) - age);
+            }
+        }
+        return DEFAULT_CACHE_SECONDS;
+    }
+}
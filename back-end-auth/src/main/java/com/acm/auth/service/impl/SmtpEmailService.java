@@ -1,73 +1,63 @@
 package com.acm.auth.service.impl;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import java.util.Locale;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import com.acm.auth.enums.OtpPurpose;
 import com.acm.auth.service.EmailService;
+import com.acm.auth.service.email.OtpMessageFactory;
+import com.acm.auth.service.jfr.EmailDispatchEvent;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Sends OTP emails over SMTP. Each send is observed as
+ * {@code email.smtp.send}: a timer tagged with the outcome and, when tracing
+ * is on, a span under the request or queued message that caused it. Sends
+ * are also recorded as {@link EmailDispatchEvent}s.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SmtpEmailService implements EmailService {
 
     private final JavaMailSender mailSender;
-
-    @Value("${app.mail.from}")
-    private String from;
-
-    @Value("${app.mail.from-name:Auth Service}")
-    private String fromName;
-
-    @Override
-    public void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds) {
-        String subject = buildSubject(purpose);
-        String body = buildBody(otp, purpose, expiresInSeconds);
-
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setFrom(formatFrom());
-        message.setSubject(subject);
-        message.setText(body);
-
-        mailSender.send(message);
-        log.info("OTP email sent to {} for purpose {}", to, purpose);
+    private final OtpMessageFactory otpMessageFactory;
+    private final ObservationRegistry observationRegistry;
+
+    public SmtpEmailService(JavaMailSender mailSender, OtpMessageFactory otpMessageFactory,
+            ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        this.mailSender = mailSender;
+        this.otpMessageFactory = otpMessageFactory;
+        this.observationRegistry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
     }
 
-    private String buildSubject(OtpPurpose purpose) {
-        return switch (purpose) {
-            case REGISTER -> "Your verification code";
-            case RESET_PASSWORD -> "Your password reset code";
-        };
-    }
-
-    private String buildBody(String otp, OtpPurpose purpose, long expiresInSeconds) {
-        String minutes = String.valueOf(Math.max(1, expiresInSeconds / 60));
-        return switch (purpose) {
-            case REGISTER -> """
-                    Your verification code is: %s
-
-                    This code expires in %s minutes.
-                    If you did not request this, please ignore this email.
-                    """.formatted(otp, minutes);
-            case RESET_PASSWORD -> """
-                    Your password reset code is: %s
-
-                    This code expires in %s minutes.
-                    If you did not request this, please ignore this email.
-                    """.formatted(otp, minutes);
-        };
-    }
-
-    private String formatFrom() {
-        if (fromName == null || fromName.isBlank()) {
-            return from;
+    @Override
+    public void sendOtpEmail(String to, String otp, OtpPurpose purpose, long expiresInSeconds, Locale locale) {
+        MimeMessage message = mailSender.createMimeMessage();
+        otpMessageFactory.populate(message, to, otp, purpose, expiresInSeconds, locale);
+
+        Observation observation = Observation.createNotStarted("email.smtp.send", observationRegistry)
+                .contextualName("smtp send")
+                .start();
+        EmailDispatchEvent event = EmailDispatchEvent.start(EmailDispatchEvent.SMTP, purpose);
+        try (Observation.Scope scope = observation.openScope()) {
+            mailSender.send(message);
+            event.finish("sent");
+            observation.lowCardinalityKeyValue("outcome", "sent");
+        } catch (RuntimeException e) {
+            event.finish(e);
+            observation.lowCardinalityKeyValue("outcome", "failed");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
         }
-        return "%s <%s>".formatted(fromName, from);
+        log.info("OTP email sent to {} for purpose {}", to, purpose);
     }
 }
@@ -0,0 +1,63 @@
+package com.acm.auth.service.jfr;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * The request a thread is working for, e.g. {@code POST /api/v1/auth/sign-in},
+ * used to label flight recorder events.
+ *
+ * Set per request by {@code AuthFlowFilter}. The {@link Accessor} makes the
+ * value part of every context snapshot, so work handed to the email queue
+ * and executor keeps the label of the request that caused it.
+ */
+public final class AuthFlow {
+
+    public static final String CONTEXT_KEY = "auth.flow";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private AuthFlow() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return the current flow, or {@code null} outside a request
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String flow) {
+        CURRENT.set(flow);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Registered through {@code META-INF/services}.
+     */
+    public static final class Accessor implements ThreadLocalAccessor<String> {
+
+        @Override
+        public Object key() {
+            return CONTEXT_KEY;
+        }
+
+        @Override
+        public String getValue() {
+            return CURRENT.get();
+        }
+
+        @Override
+        public void setValue(String value) {
+            CURRENT.set(value);
+        }
+
+        @Override
+        public void setValue() {
+            CURRENT.remove();
+        }
+    }
+}
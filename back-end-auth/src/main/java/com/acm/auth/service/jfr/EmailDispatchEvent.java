@@ -0,0 +1,30 @@
+package com.acm.auth.service.jfr;
+
+import com.acm.auth.enums.OtpPurpose;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.acm.auth.EmailDispatch")
+@Label("Email Dispatch")
+@Description("OTP email handed to the SMTP server or written to the spool")
+public final class EmailDispatchEvent extends AuthFlightEvent {
+
+    public static final String SMTP = "smtp";
+    public static final String SPOOL = "spool";
+
+    @Label("Transport")
+    String transport;
+
+    @Label("Purpose")
+    String purpose;
+
+    public static EmailDispatchEvent start(String transport, OtpPurpose purpose) {
+        EmailDispatchEvent event = new EmailDispatchEvent();
+        event.transport = transport;
+        event.purpose = purpose.name();
+        event.startTiming();
+        return event;
+    }
+}
@@ -0,0 +1,30 @@
+package com.acm.auth.service.jfr;
+
+import com.acm.auth.enums.OtpPurpose;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.acm.auth.Otp")
+@Label("OTP")
+@Description("One-time password issued or verified, including its database work")
+public final class OtpEvent extends AuthFlightEvent {
+
+    public static final String SEND = "send";
+    public static final String VERIFY = "verify";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Purpose")
+    String purpose;
+
+    public static OtpEvent start(String operation, OtpPurpose purpose) {
+        OtpEvent event = new OtpEvent();
+        event.operation = operation;
+        event.purpose = purpose.name();
+        event.startTiming();
+        return event;
+    }
+}
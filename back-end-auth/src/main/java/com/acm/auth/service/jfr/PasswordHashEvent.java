@@ -0,0 +1,24 @@
+package com.acm.auth.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.acm.auth.PasswordHash")
+@Label("Password Hash")
+@Description("Password hashed or checked against a stored hash")
+public final class PasswordHashEvent extends AuthFlightEvent {
+
+    public static final String ENCODE = "encode";
+    public static final String MATCHES = "matches";
+
+    @Label("Operation")
+    String operation;
+
+    public static PasswordHashEvent start(String operation) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.operation = operation;
+        event.startTiming();
+        return event;
+    }
+}
@@ -0,0 +1,17 @@
+package com.acm.auth.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.acm.auth.RevocationCheck")
+@Label("Revocation Check")
+@Description("Token id looked up in the revocation list, database or local snapshot")
+public final class RevocationCheckEvent extends AuthFlightEvent {
+
+    public static RevocationCheckEvent start() {
+        RevocationCheckEvent event = new RevocationCheckEvent();
+        event.startTiming();
+        return event;
+    }
+}
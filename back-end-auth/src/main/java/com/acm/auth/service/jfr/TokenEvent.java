@@ -0,0 +1,43 @@
+package com.acm.auth.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.acm.auth.Token")
+@Label("Token")
+@Description("Access token signed or verified")
+public final class TokenEvent extends AuthFlightEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Token Type")
+    @Description("user or service; set for signing only")
+    String tokenType;
+
+    @Label("Caller")
+    @Description("decoder for the resource server, service for the auth flows")
+    String caller;
+
+    public static TokenEvent sign(boolean serviceToken, String caller) {
+        TokenEvent event = new TokenEvent();
+        event.operation = "sign";
+        event.tokenType = serviceToken ? "service" : "user";
+        event.caller = caller;
+        event.startTiming();
+        return event;
+    }
+
+    public static TokenEvent verify(String caller) {
+        TokenEvent event = new TokenEvent();
+        event.operation = "verify";
+        event.caller = caller;
+        event.startTiming();
+        return event;
+    }
+
+    public boolean isServiceToken() {
+        return "service".equals(tokenType);
+    }
+}
@@ -14,13 +14,16 @@ import com.acm.auth.exception.AppException;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.OtpVerificationRepository;
 import com.acm.auth.service.EmailService;
+import com.acm.auth.service.audit.AuthEvent;
+import com.acm.auth.service.audit.AuthEventLog;
+import com.acm.auth.service.jfr.OtpEvent;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Observed(name = "auth.service")
 @RequiredArgsConstructor
-@Slf4j
 public class OtpService {
 
     private final OtpVerificationRepository otpVerificationRepository;
@@ -28,6 +31,7 @@ public class OtpService {
     private final OtpHasher otpHasher;
     private final EmailService emailService;
     private final Clock clock;
+    private final AuthEventLog authEventLog;
 
     @Value("${otp.expiry-minutes:5}")
     private long expiryMinutes;
@@ -40,6 +44,30 @@ public class OtpService {
 
     @Transactional
     public OtpChallenge sendOtp(String email, Long userId, OtpPurpose purpose, boolean enforceCooldown) {
+        OtpEvent event = OtpEvent.start(OtpEvent.SEND, purpose);
+        try {
+            OtpChallenge challenge = issue(email, userId, purpose, enforceCooldown);
+            event.finish("sent");
+            return challenge;
+        } catch (RuntimeException e) {
+            event.finish(e);
+            throw e;
+        }
+    }
+
+    @Transactional
+    public void verifyOtp(String email, OtpPurpose purpose, String otp) {
+        OtpEvent event = OtpEvent.start(OtpEvent.VERIFY, purpose);
+        try {
+            check(email, purpose, otp);
+            event.finish("verified");
+        } catch (RuntimeException e) {
+            event.finish(e);
+            throw e;
+        }
+    }
+
+    private OtpChallenge issue(String email, Long userId, OtpPurpose purpose, boolean enforceCooldown) {
         LocalDateTime now = LocalDateTime.now(clock);
 
         var existing = otpVerificationRepository
@@ -50,6 +78,7 @@ public class OtpService {
             if (enforceCooldown && active.getLastSentAt() != null) {
                 LocalDateTime allowedTime = active.getLastSentAt().plusSeconds(resendCooldownSeconds);
                 if (allowedTime.isAfter(now)) {
+                    authEventLog.record(AuthEvent.OTP_SEND_THROTTLED, email, purpose);
                     throw new AppException(ErrorCode.OTP_RESEND_TOO_SOON);
                 }
             }
@@ -79,28 +108,28 @@ public class OtpService {
 
         otpVerificationRepository.save(verification);
         emailService.sendOtpEmail(email, otp, purpose, ChronoUnit.SECONDS.between(now, expiresAt));
+        authEventLog.record(AuthEvent.OTP_SENT, email, purpose);
 
         return new OtpChallenge(maskEmail(email), ChronoUnit.SECONDS.between(now, expiresAt));
     }
 
-    @Transactional
-    public void verifyOtp(String email, OtpPurpose purpose, String otp) {
+    private void check(String email, OtpPurpose purpose, String otp) {
         LocalDateTime now = LocalDateTime.now(clock);
 
         OtpVerification verification = otpVerificationRepository
                 .findTopByEmailAndPurposeAndConsumedAtIsNullOrderByCreatedAtDesc(email, purpose)
-                .orElseThrow(() -> new AppException(ErrorCode.OTP_INVALID));
+                .orElseThrow(() -> rejected(email, purpose, ErrorCode.OTP_INVALID));
 
         if (verification.getExpiresAt() != null && verification.getExpiresAt().isBefore(now)) {
             verification.setConsumedAt(now);
             otpVerificationRepository.save(verification);
-            throw new AppException(ErrorCode.OTP_EXPIRED);
+            throw rejected(email, purpose, ErrorCode.OTP_EXPIRED);
         }
 
         if (verification.getAttempts() >= verification.getMaxAttempts()) {
             verification.setConsumedAt(now);
             otpVerificationRepository.save(verification);
-            throw new AppException(ErrorCode.OTP_TOO_MANY_ATTEMPTS);
+            throw rejected(email, purpose, ErrorCode.OTP_TOO_MANY_ATTEMPTS);
         }
 
         boolean match = otpHasher.matches(otp, verification.getOtpHash());
@@ -110,15 +139,20 @@ public class OtpService {
             if (attempts >= verification.getMaxAttempts()) {
                 verification.setConsumedAt(now);
                 otpVerificationRepository.save(verification);
-                throw new AppException(ErrorCode.OTP_TOO_MANY_ATTEMPTS);
+                throw rejected(email, purpose, ErrorCode.OTP_TOO_MANY_ATTEMPTS);
             }
             otpVerificationRepository.save(verification);
-            throw new AppException(ErrorCode.OTP_INVALID);
+            throw rejected(email, purpose, ErrorCode.OTP_INVALID);
         }
 
         verification.setConsumedAt(now);
         otpVerificationRepository.save(verification);
-        log.info("OTP verified successfully for email {} and purpose {}", email, purpose);
+        authEventLog.record(AuthEvent.OTP_VERIFIED, email, purpose);
+    }
+
+    private AppException rejected(String email, OtpPurpose purpose, ErrorCode errorCode) {
+        authEventLog.record(AuthEvent.OTP_REJECTED, email, purpose + " " + errorCode.getCode());
+        return new AppException(errorCode);
     }
 
     public long getExpirySeconds() {
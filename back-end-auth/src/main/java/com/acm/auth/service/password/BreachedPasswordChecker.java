@@ -0,0 +1,36 @@
+package com.acm.auth.service.password;
+
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects new passwords that appear in the breached-password corpus.
+ * Without a corpus configured every password is accepted.
+ */
+@Slf4j
+public class BreachedPasswordChecker {
+
+    public static final BreachedPasswordChecker DISABLED = new BreachedPasswordChecker(null);
+
+    private final BreachedPasswordCorpus corpus;
+
+    public BreachedPasswordChecker(BreachedPasswordCorpus corpus) {
+        this.corpus = corpus;
+    }
+
+    public boolean isBreached(String password) {
+        return corpus != null && corpus.contains(password);
+    }
+
+    /**
+     * @throws AppException {@link ErrorCode#PASSWORD_BREACHED} if the password is in the corpus
+     */
+    public void requireNotBreached(String password) {
+        if (isBreached(password)) {
+            log.info("Rejected a password found in the breached-password corpus");
+            throw new AppException(ErrorCode.PASSWORD_BREACHED);
+        }
+    }
+}
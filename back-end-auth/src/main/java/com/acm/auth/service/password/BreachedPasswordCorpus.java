@@ -0,0 +1,124 @@
+package com.acm.auth.service.password;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A read-only set of breached-password hashes, searched in place in a
+ * memory-mapped file.
+ *
+ * The file holds the first 64 bits of each password's SHA-1, sorted as
+ * unsigned numbers and de-duplicated, behind a fan-out table indexed by the
+ * top 16 bits. A lookup reads one fan-out slot and binary-searches a bucket
+ * of, on average, count / 65536 entries, so even a corpus of a billion
+ * hashes needs about 14 probes and no heap beyond the mappings themselves.
+ * With 64-bit prefixes the chance of rejecting a password that is not in
+ * the corpus is about count / 2^64.
+ *
+ * Layout (big-endian): magic, entry count, 65537 fan-out offsets, entries.
+ * Written by {@link BreachedPasswordCorpusBuilder}.
+ */
+public final class BreachedPasswordCorpus {
+
+    static final long MAGIC = 0x41434D5057443031L; // "ACMPWD01"
+    static final int FANOUT_SLOTS = 1 << 16;
+    static final int HEADER_BYTES = 16 + (FANOUT_SLOTS + 1) * Long.BYTES;
+
+    // One mapping is limited to 2 GiB; split the entries into 1 GiB segments
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final long count;
+
+    private BreachedPasswordCorpus(MappedByteBuffer header, MappedByteBuffer[] segments, long count) {
+        this.header = header;
+        this.segments = segments;
+        this.count = count;
+    }
+
+    /**
+     * Maps a corpus file.
+     *
+     * @throws IOException if the file cannot be read or is not a corpus
+     */
+    public static BreachedPasswordCorpus open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Breached password corpus truncated: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            long count = header.getLong(8);
+            if (header.getLong(0) != MAGIC || count < 0 || size != HEADER_BYTES + count * Long.BYTES) {
+                throw new IOException("Not a breached password corpus: " + file);
+            }
+            int segmentCount = (int) ((count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long entries = Math.min(count - first, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * Long.BYTES,
+                        entries * Long.BYTES);
+            }
+            return new BreachedPasswordCorpus(header, segments, count);
+        }
+    }
+
+    public boolean contains(String password) {
+        return containsPrefix(prefixOf(password));
+    }
+
+    boolean containsPrefix(long prefix) {
+        int slot = (int) (prefix >>> 48);
+        long from = fanout(slot);
+        long to = fanout(slot + 1) - 1;
+        while (from <= to) {
+            long middle = (from + to) >>> 1;
+            int order = Long.compareUnsigned(entryAt(middle), prefix);
+            if (order < 0) {
+                from = middle + 1;
+            } else if (order > 0) {
+                to = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * The first 64 bits of the SHA-1 of the UTF-8 password.
+     */
+    static long prefixOf(String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+            long prefix = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                prefix = (prefix << 8) | (digest[i] & 0xFF);
+            }
+            return prefix;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    private long fanout(int slot) {
+        return header.getLong(16 + slot * Long.BYTES);
+    }
+
+    private long entryAt(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) * Long.BYTES);
+    }
+}
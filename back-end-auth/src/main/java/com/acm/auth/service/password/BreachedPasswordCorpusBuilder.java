@@ -0,0 +1,257 @@
+package com.acm.auth.service.password;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Converts a text dump of breached passwords into the binary format read by
+ * {@link BreachedPasswordCorpus}.
+ *
+ * Input lines are SHA-1 hashes in hex, optionally followed by
+ * {@code :count} as in the Pwned Passwords downloads, or, with
+ * {@code --passwords}, one plaintext password per line. The input need not
+ * be sorted: hashes are sorted in chunks that are spilled to disk and then
+ * merged, so memory stays at one chunk whatever the corpus size.
+ *
+ * Usage:
+ * mvn compile exec:java -Dexec.mainClass=com.acm.auth.service.password.BreachedPasswordCorpusBuilder
+ * -Dexec.args="[--passwords] pwned-passwords-sha1.txt data/breached-passwords.bin"
+ */
+public final class BreachedPasswordCorpusBuilder {
+
+    private static final int DEFAULT_CHUNK_ENTRIES = 1 << 24; // 128 MiB of hashes per sorted run
+    private static final int HEX_DIGITS = 40;
+
+    /**
+     * One sorted input to the merge. Values are stored with the sign bit
+     * flipped so that signed order equals the unsigned order of the prefixes.
+     */
+    private interface Run extends AutoCloseable {
+        long current();
+
+        boolean advance() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final int chunkEntries;
+    private final boolean plaintext;
+
+    public BreachedPasswordCorpusBuilder(int chunkEntries, boolean plaintext) {
+        this.chunkEntries = chunkEntries;
+        this.plaintext = plaintext;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean plaintext = args.length == 3 && args[0].equals("--passwords");
+        if (args.length != (plaintext ? 3 : 2)) {
+            System.err.println("Usage: BreachedPasswordCorpusBuilder [--passwords] <input.txt> <output.bin>");
+            System.exit(2);
+        }
+        Path input = Path.of(args[plaintext ? 1 : 0]);
+        Path output = Path.of(args[plaintext ? 2 : 1]);
+        long started = System.nanoTime();
+        long count = new BreachedPasswordCorpusBuilder(DEFAULT_CHUNK_ENTRIES, plaintext).build(input, output);
+        System.out.printf("Wrote %,d hashes to %s in %.1fs%n", count, output, (System.nanoTime() - started) / 1e9);
+    }
+
+    /**
+     * Builds the corpus at {@code output}, replacing it atomically.
+     *
+     * @return the number of distinct hashes written
+     */
+    public long build(Path input, Path output) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path workDir = Files.createTempDirectory(directory, "corpus-build");
+        List<Run> runs = new ArrayList<>();
+        try {
+            long[] chunk = new long[chunkEntries];
+            int size = 0;
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isEmpty() || (!plaintext && line.isBlank())) {
+                        continue;
+                    }
+                    chunk[size++] = parse(line, lineNumber) ^ Long.MIN_VALUE;
+                    if (size == chunk.length) {
+                        runs.add(spill(chunk, size, workDir, runs.size()));
+                        size = 0;
+                    }
+                }
+            }
+            Arrays.sort(chunk, 0, size);
+            runs.add(inMemory(chunk, size));
+            return merge(runs, output, workDir);
+        } finally {
+            for (Run run : runs) {
+                run.close();
+            }
+            try (var files = Files.list(workDir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    private long parse(String line, long lineNumber) throws IOException {
+        if (plaintext) {
+            return BreachedPasswordCorpus.prefixOf(line);
+        }
+        int end = line.indexOf(':');
+        String hash = (end < 0 ? line : line.substring(0, end)).trim();
+        if (hash.length() != HEX_DIGITS) {
+            throw new IOException("Line " + lineNumber + " is not a SHA-1 hash (use --passwords for plaintext)");
+        }
+        try {
+            return Long.parseUnsignedLong(hash, 0, 16, 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Line " + lineNumber + " is not a SHA-1 hash (use --passwords for plaintext)");
+        }
+    }
+
+    private static Run spill(long[] chunk, int size, Path workDir, int index) throws IOException {
+        Arrays.sort(chunk, 0, size);
+        Path file = workDir.resolve("run-" + index);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),
+                1 << 16))) {
+            for (int i = 0; i < size; i++) {
+                out.writeLong(chunk[i]);
+            }
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        return new Run() {
+            private long current;
+
+            @Override
+            public long current() {
+                return current;
+            }
+
+            @Override
+            public boolean advance() throws IOException {
+                try {
+                    current = in.readLong();
+                    return true;
+                } catch (EOFException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        };
+    }
+
+    private static Run inMemory(long[] chunk, int size) {
+        return new Run() {
+            private int next;
+            private long current;
+
+            @Override
+            public long current() {
+                return current;
+            }
+
+            @Override
+            public boolean advance() {
+                if (next == size) {
+                    return false;
+                }
+                current = chunk[next++];
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release
+            }
+        };
+    }
+
+    /**
+     * Merges the sorted runs into the output, dropping duplicates and
+     * recording where each fan-out slot starts.
+     */
+    private static long merge(List<Run> runs, Path output, Path workDir) throws IOException {
+        PriorityQueue<Run> queue = new PriorityQueue<>(Comparator.comparingLong(Run::current));
+        for (Run run : runs) {
+            if (run.advance()) {
+                queue.add(run);
+            }
+        }
+
+        long[] fanout = new long[BreachedPasswordCorpus.FANOUT_SLOTS + 1];
+        int nextSlot = 0;
+        long count = 0;
+        Path temp = workDir.resolve("corpus.tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.position(BreachedPasswordCorpus.HEADER_BYTES);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                    1 << 16));
+            long previous = 0;
+            while (!queue.isEmpty()) {
+                Run run = queue.poll();
+                long value = run.current();
+                if (count == 0 || value != previous) {
+                    long prefix = value ^ Long.MIN_VALUE;
+                    int slot = (int) (prefix >>> 48);
+                    while (nextSlot <= slot) {
+                        fanout[nextSlot++] = count;
+                    }
+                    out.writeLong(prefix);
+                    previous = value;
+                    count++;
+                }
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+            out.flush();
+            while (nextSlot < fanout.length) {
+                fanout[nextSlot++] = count;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(BreachedPasswordCorpus.HEADER_BYTES)
+                    .putLong(BreachedPasswordCorpus.MAGIC)
+                    .putLong(count);
+            for (long offset : fanout) {
+                header.putLong(offset);
+            }
+            header.flip();
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+}
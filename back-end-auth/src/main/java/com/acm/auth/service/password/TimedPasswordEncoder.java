@@ -0,0 +1,53 @@
+package com.acm.auth.service.password;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.acm.auth.service.jfr.PasswordHashEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the hashing done by another {@link PasswordEncoder}. BCrypt is
+ * deliberately slow and usually the largest part of a sign-in, so its
+ * latency and rate are worth watching on their own. Each call is also a
+ * {@link PasswordHashEvent} in flight recordings.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = meterRegistry.timer("auth.password.encode");
+        this.matchTimer = meterRegistry.timer("auth.password.matches", "outcome", "match");
+        this.mismatchTimer = meterRegistry.timer("auth.password.matches", "outcome", "mismatch");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start(PasswordHashEvent.ENCODE);
+        String encoded = delegate.encode(rawPassword);
+        encodeTimer.record(event.finish("encoded"), TimeUnit.NANOSECONDS);
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start(PasswordHashEvent.MATCHES);
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        long elapsedNanos = event.finish(matches ? "match" : "mismatch");
+        (matches ? matchTimer : mismatchTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
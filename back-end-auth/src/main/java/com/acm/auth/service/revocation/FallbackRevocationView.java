@@ -0,0 +1,58 @@
+package com.acm.auth.service.revocation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import com.acm.auth.token.RevocationView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks revocations against the database, switching to a local view while
+ * the database is failing.
+ *
+ * After a failed lookup the database is left alone for {@code retryAfter},
+ * so requests do not each wait out a connection timeout during an outage;
+ * the local view answers meanwhile. It lags the database by at most one
+ * snapshot sync, plus nothing for logouts handled by this instance.
+ *
+ * With the database down the repository usually fails while opening its
+ * transaction ({@code CannotCreateTransactionException}), before any query
+ * runs, so transaction failures count as database failures too.
+ */
+@Slf4j
+public class FallbackRevocationView implements RevocationView {
+
+    private final RevocationView database;
+    private final RevocationView local;
+    private final Duration retryAfter;
+    private final Clock clock;
+
+    private volatile Instant databaseRetryAt = Instant.MIN;
+
+    public FallbackRevocationView(RevocationView database, RevocationView local, Duration retryAfter, Clock clock) {
+        this.database = database;
+        this.local = local;
+        this.retryAfter = retryAfter;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        if (clock.instant().isBefore(databaseRetryAt)) {
+            return local.isRevoked(jwtId);
+        }
+        try {
+            return database.isRevoked(jwtId);
+        } catch (DataAccessException | TransactionException e) {
+            databaseRetryAt = clock.instant().plus(retryAfter);
+            log.warn("Revocation lookup failed, using the local snapshot for {}s: {}", retryAfter.toSeconds(),
+                    e.getMessage());
+            return local.isRevoked(jwtId);
+        }
+    }
+}
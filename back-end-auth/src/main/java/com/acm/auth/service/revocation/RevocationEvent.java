@@ -0,0 +1,9 @@
+package com.acm.auth.service.revocation;
+
+import java.time.Instant;
+
+/**
+ * A token id added to the invalidated tokens, numbered in publication order.
+ */
+public record RevocationEvent(long sequence, String jwtId, Instant expiresAt) {
+}
@@ -0,0 +1,79 @@
+package com.acm.auth.service.revocation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The most recent revocation events in a fixed-size ring, for subscribers
+ * resuming after a reconnect.
+ *
+ * Event ids are {@code <streamId>-<sequence>}; the stream id changes on every
+ * start, so an id from a previous run (or another instance) is recognised
+ * instead of being mistaken for a position in this one. Not thread-safe: the
+ * owning {@link RevocationStream} guards it with its lock.
+ */
+final class RevocationEventLog {
+
+    /**
+     * Events to send a resuming subscriber, or {@code reset} when its position
+     * is unknown or already overwritten and it must reload the full set.
+     */
+    record Replay(boolean reset, List<RevocationEvent> events) {
+    }
+
+    private final String streamId;
+    private final RevocationEvent[] ring;
+    private long lastSequence;
+
+    RevocationEventLog(String streamId, int capacity) {
+        this.streamId = streamId;
+        this.ring = new RevocationEvent[capacity];
+    }
+
+    RevocationEvent append(String jwtId, Instant expiresAt) {
+        RevocationEvent event = new RevocationEvent(++lastSequence, jwtId, expiresAt);
+        ring[(int) (event.sequence() % ring.length)] = event;
+        return event;
+    }
+
+    /**
+     * Resolves a {@code Last-Event-ID}; {@code null} means a fresh subscriber,
+     * which gets only new events.
+     */
+    Replay replayAfter(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return new Replay(false, List.of());
+        }
+        long after = sequenceOf(lastEventId.trim());
+        long oldest = Math.max(1, lastSequence - ring.length + 1);
+        if (after < 0 || after > lastSequence || after + 1 < oldest) {
+            return new Replay(true, List.of());
+        }
+        List<RevocationEvent> events = new ArrayList<>((int) (lastSequence - after));
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            events.add(ring[(int) (sequence % ring.length)]);
+        }
+        return new Replay(false, events);
+    }
+
+    String eventId(long sequence) {
+        return streamId + "-" + sequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    private long sequenceOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(streamId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.acm.auth.service.revocation;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.acm.auth.entity.InvalidatedToken;
+import com.acm.auth.repository.InvalidatedTokenRepository;
+import com.acm.auth.service.TokenInvalidatedEvent;
+import com.acm.auth.token.SnapshotRevocationView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a {@link SnapshotRevocationView} in step with
+ * {@code invalidated_tokens} and periodically writes it to disk.
+ *
+ * After a restart only the rows created since the last snapshot are loaded.
+ * Logouts handled by this instance are applied immediately; those of other
+ * instances arrive with the next sync.
+ */
+@Slf4j
+public class RevocationSnapshotSync implements AutoCloseable {
+
+    public record Settings(Duration syncInterval, Duration snapshotInterval) {
+    }
+
+    private final SnapshotRevocationView view;
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final Settings settings;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    public RevocationSnapshotSync(SnapshotRevocationView view, InvalidatedTokenRepository invalidatedTokenRepository,
+            Settings settings, Clock clock, ThreadFactory threadFactory) {
+        this.view = view;
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.settings = settings;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::sync, 0, settings.syncInterval().toMillis(), TimeUnit.MILLISECONDS);
+        long snapshotMillis = settings.snapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::writeSnapshot, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenInvalidated(TokenInvalidatedEvent event) {
+        view.revoke(event.jwtId(), event.expiresAt());
+    }
+
+    /**
+     * Loads the rows added since the last sync (all live rows on a cold start).
+     */
+    public void sync() {
+        Instant startedAt = clock.instant();
+        Instant replayFrom = view.replayFrom();
+        try {
+            Date now = Date.from(startedAt);
+            List<InvalidatedToken> rows = replayFrom == null
+                    ? invalidatedTokenRepository.findByExpiryTimeAfter(now)
+                    : invalidatedTokenRepository.findByExpiryTimeAfterAndCreatedAtAfter(now, Date.from(replayFrom));
+            Map<String, Instant> revoked = new HashMap<>(rows.size());
+            rows.forEach(row -> revoked.put(row.getId(), row.getExpiryTime().toInstant()));
+            view.apply(revoked, startedAt);
+            view.pruneExpired(startedAt);
+            log.debug("Revocation snapshot synced: {} rows since {}", rows.size(), replayFrom);
+        } catch (RuntimeException e) {
+            log.warn("Revocation snapshot sync failed, keeping {} snapshot and {} recent entries: {}",
+                    view.snapshotSize(), view.recentSize(), e.getMessage());
+        }
+    }
+
+    public void writeSnapshot() {
+        try {
+            view.writeSnapshot();
+            log.debug("Revocation snapshot written: {} entries up to {}", view.snapshotSize(), view.watermark());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Revocation snapshot write failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops syncing and writes a final snapshot for the next start.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        writeSnapshot();
+    }
+}
@@ -0,0 +1,250 @@
+package com.acm.auth.service.revocation;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.service.TokenInvalidatedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes token revocations to subscribed resource servers as server-sent events.
+ *
+ * Each committed invalidation is numbered and kept in a bounded
+ * {@link RevocationEventLog}; a subscriber reconnecting with
+ * {@code Last-Event-ID} gets what it missed, or a {@code reset} event when
+ * that is no longer available and it must reload the full set. A new
+ * subscriber first gets a {@code ready} event carrying its starting id.
+ *
+ * Publishing never blocks on a subscriber: events go into a bounded queue per
+ * subscriber that a sender task drains. A subscriber whose queue fills up is
+ * disconnected and resumes from its last event id, so a slow consumer costs
+ * a reconnect, not memory or latency for the others. Events are local to
+ * this instance; run one stream per instance behind sticky routing, or let
+ * clients fall back to polling when several instances issue tokens.
+ */
+@Slf4j
+public class RevocationStream implements AutoCloseable {
+
+    public static final String REVOKED_EVENT = "revoked";
+    public static final String RESET_EVENT = "reset";
+    public static final String READY_EVENT = "ready";
+
+    public record Settings(int bufferSize, int subscriberQueueCapacity, int maxSubscribers,
+            Duration heartbeatInterval, Duration connectionTimeout) {
+    }
+
+    private static final RevocationEvent HEARTBEAT = new RevocationEvent(0, null, null);
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<RevocationEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final long position;
+        private RevocationEventLog.Replay replay;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, RevocationEventLog.Replay replay, long position) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(settings.subscriberQueueCapacity());
+            this.replay = replay;
+            this.position = position;
+        }
+    }
+
+    private final Settings settings;
+    private final RevocationEventLog eventLog;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public RevocationStream(Settings settings, Clock clock, ThreadFactory threadFactory) {
+        this.settings = settings;
+        this.eventLog = new RevocationEventLog(Long.toString(clock.millis(), 36), settings.bufferSize());
+        this.senders = Executors.newThreadPerTaskExecutor(threadFactory);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    public void start() {
+        long interval = settings.heartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream, replaying the events after {@code lastEventId} first.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(settings.connectionTimeout().toMillis());
+        Subscriber subscriber;
+        lock.lock();
+        try {
+            if (subscribers.size() >= settings.maxSubscribers()) {
+                throw new AppException(ErrorCode.REVOCATION_STREAM_BUSY);
+            }
+            subscriber = new Subscriber(emitter, eventLog.replayAfter(lastEventId), eventLog.lastSequence());
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        schedule(subscriber);
+        log.debug("Revocation stream subscriber connected (resume from {}), {} active", lastEventId,
+                subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Runs after the invalidation commits, so subscribers never see a
+     * revocation that was rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenInvalidated(TokenInvalidatedEvent event) {
+        publish(event);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(this::disconnect);
+        senders.shutdownNow();
+    }
+
+    private void publish(TokenInvalidatedEvent invalidated) {
+        RevocationEvent event;
+        List<Subscriber> targets;
+        lock.lock();
+        try {
+            event = eventLog.append(invalidated.jwtId(), invalidated.expiresAt());
+            // Offer under the lock so each queue receives events in sequence order
+            targets = List.copyOf(subscribers);
+            for (Subscriber subscriber : targets) {
+                if (!subscriber.queue.offer(event)) {
+                    log.debug("Revocation stream subscriber fell {} events behind, disconnecting",
+                            settings.subscriberQueueCapacity());
+                    subscriber.closed = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : targets) {
+            if (subscriber.closed) {
+                disconnect(subscriber);
+            } else {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.replay != null) {
+                sendReplay(subscriber);
+                subscriber.replay = null;
+            }
+            RevocationEvent event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    send(subscriber, event);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Revocation stream subscriber gone: {}", e.getMessage());
+            disconnect(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void sendReplay(Subscriber subscriber) throws IOException {
+        RevocationEventLog.Replay replay = subscriber.replay;
+        if (replay.reset() || replay.events().isEmpty()) {
+            // Gives the subscriber a position to resume from even if nothing is revoked before it reconnects
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(eventLog.eventId(subscriber.position))
+                    .name(replay.reset() ? RESET_EVENT : READY_EVENT)
+                    .data(replay.reset() ? "reload" : "ok"));
+            return;
+        }
+        for (RevocationEvent event : replay.events()) {
+            send(subscriber, event);
+        }
+    }
+
+    private void send(Subscriber subscriber, RevocationEvent event) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(eventLog.eventId(event.sequence()))
+                .name(REVOKED_EVENT)
+                .data(Map.of(
+                        "jti", event.jwtId(),
+                        "exp", event.expiresAt().getEpochSecond())));
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (remove(subscriber)) {
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        return subscribers.remove(subscriber);
+    }
+}
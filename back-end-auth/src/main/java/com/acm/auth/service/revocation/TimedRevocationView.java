@@ -0,0 +1,36 @@
+package com.acm.auth.service.revocation;
+
+import java.util.concurrent.TimeUnit;
+
+import com.acm.auth.service.jfr.RevocationCheckEvent;
+import com.acm.auth.token.RevocationView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the revocation lookup done for every verified token, tagged by
+ * whether the token turned out to be revoked, and records it as a
+ * {@link RevocationCheckEvent}.
+ */
+public class TimedRevocationView implements RevocationView {
+
+    private final RevocationView delegate;
+    private final Timer revoked;
+    private final Timer active;
+
+    public TimedRevocationView(RevocationView delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.revoked = meterRegistry.timer("auth.revocation.lookup", "outcome", "revoked");
+        this.active = meterRegistry.timer("auth.revocation.lookup", "outcome", "active");
+    }
+
+    @Override
+    public boolean isRevoked(String jwtId) {
+        RevocationCheckEvent event = RevocationCheckEvent.start();
+        boolean isRevoked = delegate.isRevoked(jwtId);
+        long elapsedNanos = event.finish(isRevoked ? "revoked" : "active");
+        (isRevoked ? revoked : active).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return isRevoked;
+    }
+}
@@ -0,0 +1,76 @@
+package com.acm.auth.benchmark;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * Baseline for {@link TokenIssuanceBenchmark} with {@code profile=standard}:
+ * the issuance code before the fast path, nimbus builder/{@code Payload} with
+ * {@code UUID.randomUUID()} ids and the same claims and thread count.
+ *
+ * Run with (from back-end-auth):
+ * mvn test-compile exec:exec@benchmark -Djmh.args="NimbusTokenIssuanceBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class NimbusTokenIssuanceBenchmark {
+
+    private static final String SIGNER_KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3=";
+    private static final long VALID_SECONDS = 3600;
+
+    @Benchmark
+    public String nimbusPath() throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("alice.nguyen@example.com")
+                .issuer("auth-service")
+                .issueTime(new Date())
+                .expirationTime(new Date(Instant.now().plus(VALID_SECONDS, ChronoUnit.SECONDS).toEpochMilli()))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("user_id", 1042L)
+                .claim("email", "alice.nguyen@example.com")
+                .claim("username", "alice.nguyen")
+                .claim("role", "ADMIN")
+                .claim("scope", "ROLE_ADMIN ROLE_USER")
+                .build();
+        JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS512), new Payload(claims.toJSONObject()));
+        jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        return jwsObject.serialize();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NimbusTokenIssuanceBenchmark.class.getName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.acm.auth.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.User;
+import com.acm.auth.service.JwtTokenService;
+import com.acm.auth.service.RequestTokenContext;
+import com.acm.auth.token.RevocationView;
+import com.acm.auth.token.TokenEncoder;
+import com.acm.auth.token.TokenVerifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tokens per second and bytes allocated per token: {@link JwtTokenService}
+ * on the {@link TokenEncoder} fast path, per token profile. The baseline is
+ * {@link NimbusTokenIssuanceBenchmark}, which only exists for the standard
+ * profile.
+ *
+ * Run with (from back-end-auth):
+ * mvn test-compile exec:exec@benchmark -Djmh.args="benchmark.TokenIssuanceBenchmark -prof gc"
+ * ({@code -prof gc} reports bytes allocated per token).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenIssuanceBenchmark {
+
+    private static final String SIGNER_KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3=";
+    private static final long VALID_SECONDS = 3600;
+
+    @Param({ "standard", "compact" })
+    public String profile;
+
+    private JwtTokenService jwtTokenService;
+    private User user;
+
+    @Setup
+    public void setup() {
+        byte[] key = SIGNER_KEY.getBytes(StandardCharsets.UTF_8);
+        jwtTokenService = new JwtTokenService(null,
+                new TokenVerifier(key, Duration.ofDays(1), RevocationView.NONE, Clock.systemUTC()),
+                new TokenEncoder(key), new RequestTokenContext(), event -> {
+                }, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(jwtTokenService, "validDuration", VALID_SECONDS);
+        ReflectionTestUtils.setField(jwtTokenService, "profile", profile);
+        user = User.builder()
+                .id(1042L)
+                .username("alice.nguyen")
+                .email("alice.nguyen@example.com")
+                .roles(new LinkedHashSet<>(List.of(
+                        Role.builder().code("ADMIN").build(),
+                        Role.builder().code("USER").build())))
+                .build();
+    }
+
+    @Benchmark
+    public String fastPath() {
+        return jwtTokenService.generateToken(user, "ADMIN");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenIssuanceBenchmark.class.getName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
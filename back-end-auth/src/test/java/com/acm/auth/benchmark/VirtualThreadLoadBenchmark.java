@@ -0,0 +1,214 @@
+package com.acm.auth.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.mockito.Answers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.acm.auth.controller.AuthenticationController;
+import com.acm.auth.repository.UserRepository;
+import com.acm.auth.service.AuthenticationService;
+import com.acm.auth.service.GoogleAuthService;
+import com.acm.auth.service.RegistrationService;
+import com.acm.auth.service.availability.AvailabilityService;
+import com.acm.auth.service.availability.UserIdentifierFilter;
+import com.acm.auth.service.client.ClientCredentialsService;
+
+/**
+ * Request-per-thread throughput and tail latency of the servlet stack,
+ * platform vs virtual threads.
+ *
+ * Starts embedded Tomcat with Spring MVC, the real
+ * {@link AuthenticationController} and {@link AvailabilityService}, and a
+ * stubbed {@link UserRepository} whose exists queries block for
+ * {@code blockMillis}, standing in for the JDBC round trip. {@code THREADS}
+ * concurrent clients then call {@code GET /api/v1/auth/availability} for a
+ * username the identifier filter cannot rule out, so every request reaches
+ * the repository. Security filters are not part of the stack under test.
+ * <ul>
+ * <li>{@code platform}: Tomcat's default pool of 200 request threads</li>
+ * <li>{@code virtual}: {@code spring.threads.virtual.enabled=true}, one
+ * virtual thread per request</li>
+ * <li>{@code virtual-pinned}: the same, but the repository blocks inside
+ * {@code synchronized}, which pins the carrier thread on JDK 21 - why our
+ * code uses locks instead. Only one request per CPU blocks at a time, so each
+ * iteration takes {@code THREADS * blockMillis / CPUs} just to drain</li>
+ * </ul>
+ * JMH reports throughput in requests per millisecond and, from the sample
+ * mode, latency percentiles per request.
+ *
+ * Run with (from back-end-auth):
+ * mvn test-compile exec:exec@benchmark -Djmh.args="VirtualThreadLoadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(VirtualThreadLoadBenchmark.THREADS)
+public class VirtualThreadLoadBenchmark {
+
+    static final int THREADS = 1000;
+
+    @Param({ "platform", "virtual", "virtual-pinned" })
+    public String mode;
+
+    @Param({ "500" })
+    public long blockMillis;
+
+    private ConfigurableApplicationContext server;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+        UserRepository userRepository = blockingRepository(blockMillis, mode.equals("virtual-pinned"));
+        server = new SpringApplicationBuilder(Server.class)
+                .bannerMode(Banner.Mode.OFF)
+                .initializers(context -> context.getBeanFactory().registerSingleton("userRepository", userRepository))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + !mode.equals("platform"),
+                        "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().executor(clientExecutor).build();
+        request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/auth/availability?username=alice")).build();
+        int status = availabilityCheck();
+        if (status != 200) {
+            throw new IllegalStateException("Availability check returned " + status);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        client.close();
+        clientExecutor.shutdownNow();
+        server.close();
+    }
+
+    @Benchmark
+    public int availabilityCheck() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Exists queries block and report a collision; everything else, such as
+     * the startup scan that seeds the identifier filter with "alice", returns
+     * at once.
+     */
+    private static UserRepository blockingRepository(long blockMillis, boolean pinned) {
+        UserRepository.Identifiers alice = new UserRepository.Identifiers() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public String getUsername() {
+                return "alice";
+            }
+
+            @Override
+            public String getEmail() {
+                return "alice@example.com";
+            }
+        };
+        return mock(UserRepository.class, invocation -> {
+            String method = invocation.getMethod().getName();
+            if (method.equals("streamIdentifiers")) {
+                return Stream.of(alice);
+            }
+            if (!method.startsWith("existsBy")) {
+                return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+            if (pinned) {
+                Object monitor = new Object();
+                synchronized (monitor) {
+                    Thread.sleep(blockMillis);
+                }
+            } else {
+                Thread.sleep(blockMillis);
+            }
+            return true;
+        });
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({ ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class })
+    @Import({ AuthenticationController.class, AvailabilityService.class, UserIdentifierFilter.class })
+    static class Server {
+
+        @Bean
+        AuthenticationService authenticationService() {
+            return mock(AuthenticationService.class);
+        }
+
+        @Bean
+        GoogleAuthService googleAuthService() {
+            return mock(GoogleAuthService.class);
+        }
+
+        @Bean
+        RegistrationService registrationService() {
+            return mock(RegistrationService.class);
+        }
+
+        @Bean
+        ClientCredentialsService clientCredentialsService() {
+            return mock(ClientCredentialsService.class);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VirtualThreadLoadBenchmark.class.getName())
+                .build()).run();
+    }
+}
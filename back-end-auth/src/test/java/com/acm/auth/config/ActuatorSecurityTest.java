@@ -0,0 +1,86 @@
+package com.acm.auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.acm.auth.controller.RevocationStreamController;
+import com.acm.auth.enums.Permission;
+import com.acm.auth.service.authz.PermissionResolver;
+import com.acm.auth.service.authz.PermissionSet;
+import com.acm.auth.service.revocation.RevocationStream;
+
+/**
+ * Only the security rules are under test: actuator endpoints are not part of
+ * this slice, so requests that get past the rules find no handler.
+ */
+@WebMvcTest(RevocationStreamController.class)
+@Import({ SecurityConfig.class, CorsConfig.class, PermissionAuthorizationManager.class })
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CustomJwtDecoder customJwtDecoder;
+
+    @MockitoBean
+    private PermissionResolver permissionResolver;
+
+    @MockitoBean
+    private RevocationStream revocationStream;
+
+    @BeforeEach
+    void setup() {
+        when(customJwtDecoder.decode("scraper-token")).thenReturn(jwt("scraper-token", "ROLE_SCRAPER"));
+        when(customJwtDecoder.decode("user-token")).thenReturn(jwt("user-token", "ROLE_USER"));
+        when(permissionResolver.resolve("ROLE_SCRAPER")).thenReturn(PermissionSet.of(List.of(Permission.METRICS_READ)));
+        when(permissionResolver.resolve("ROLE_USER")).thenReturn(PermissionSet.NONE);
+    }
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness")).andExpect(passesSecurity());
+    }
+
+    @Test
+    void prometheusRequiresMetricsPermission() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer user-token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/info").header(HttpHeaders.AUTHORIZATION, "Bearer user-token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer scraper-token"))
+                .andExpect(passesSecurity());
+    }
+
+    private static ResultMatcher passesSecurity() {
+        return result -> assertFalse(List.of(401, 403).contains(result.getResponse().getStatus()),
+                "refused with " + result.getResponse().getStatus());
+    }
+
+    private static Jwt jwt(String value, String scope) {
+        return Jwt.withTokenValue(value)
+                .header("alg", "HS512")
+                .subject("prometheus")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .claim("scope", scope)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.acm.auth.exception;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.acm.auth.dto.response.ApiResponse;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(20);
+
+    @Test
+    void clientErrorsAreStacklessAndUseSharedBodies() {
+        AppException ex = new AppException(ErrorCode.INVALID_CREDENTIALS);
+        assertEquals(0, ex.getStackTrace().length);
+        assertTrue(new AppException(ErrorCode.INTERNAL_ERROR).getStackTrace().length > 0);
+
+        ResponseEntity<?> first = handler.handleAppException(ex);
+        ResponseEntity<?> second = handler.handleAppException(new AppException(ErrorCode.INVALID_CREDENTIALS));
+
+        assertEquals(401, first.getStatusCode().value());
+        assertSame(first.getBody(), second.getBody());
+        assertArrayEquals(
+                "{\"code\":\"INVALID_CREDENTIALS\",\"message\":\"Invalid username/email or password.\"}"
+                        .getBytes(StandardCharsets.UTF_8),
+                (byte[]) first.getBody());
+
+        ResponseEntity<?> custom = handler.handleAppException(
+                new AppException(ErrorCode.GOOGLE_AUTH_FAILED, "Token audience mismatch"));
+        assertEquals("Token audience mismatch", ((ApiResponse<?>) custom.getBody()).getMessage());
+    }
+
+    @Test
+    void throttleCountsSuppressedLinesPerCode() {
+        AtomicLong now = new AtomicLong();
+        ErrorLogThrottle throttle = new ErrorLogThrottle(2, now::get);
+
+        assertEquals(0, throttle.tryAcquire(ErrorCode.INVALID_CREDENTIALS));
+        assertEquals(0, throttle.tryAcquire(ErrorCode.INVALID_CREDENTIALS));
+        assertEquals(ErrorLogThrottle.SUPPRESSED, throttle.tryAcquire(ErrorCode.INVALID_CREDENTIALS));
+        assertEquals(ErrorLogThrottle.SUPPRESSED, throttle.tryAcquire(ErrorCode.INVALID_CREDENTIALS));
+        assertEquals(0, throttle.tryAcquire(ErrorCode.OTP_INVALID));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, throttle.tryAcquire(ErrorCode.INVALID_CREDENTIALS));
+    }
+}
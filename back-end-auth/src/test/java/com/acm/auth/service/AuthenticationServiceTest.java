@@ -0,0 +1,83 @@
+package com.acm.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.acm.auth.dto.request.RefreshRequest;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.InvalidatedTokenRepository;
+import com.acm.auth.repository.UserRepository;
+import com.acm.auth.service.audit.AuthEventLog;
+import com.acm.auth.token.TokenEncoder;
+import com.acm.auth.token.TokenVerifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    private static final byte[] SIGNER_KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3="
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    @Mock
+    private AuthEventLog authEventLog;
+
+    private JwtTokenService jwtTokenService;
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void setup() {
+        TokenVerifier verifier = new TokenVerifier(SIGNER_KEY, Duration.ofDays(1), jwtId -> false,
+                Clock.systemUTC());
+        jwtTokenService = new JwtTokenService(invalidatedTokenRepository, verifier, new TokenEncoder(SIGNER_KEY),
+                new RequestTokenContext(), event -> {
+                }, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(jwtTokenService, "validDuration", 3600L);
+        ReflectionTestUtils.setField(jwtTokenService, "profile", "standard");
+        authenticationService = new AuthenticationService(userRepository, null, jwtTokenService,
+                new RefreshCoalescer(Clock.systemUTC()), authEventLog);
+    }
+
+    @Test
+    void serviceTokenCannotBeRefreshedIntoAUserToken() {
+        String serviceToken = jwtTokenService.generateServiceToken(UUID.randomUUID().toString(), "alice",
+                List.of("USER"), 3600);
+
+        AppException ex = assertThrows(AppException.class,
+                () -> authenticationService.refreshToken(new RefreshRequest(serviceToken)));
+
+        assertEquals(ErrorCode.UNAUTHENTICATED, ex.getErrorCode());
+        verifyNoInteractions(userRepository, invalidatedTokenRepository);
+    }
+
+    @Test
+    void expiredServiceTokenGetsNoRefreshWindow() {
+        String expired = jwtTokenService.generateServiceToken(UUID.randomUUID().toString(), "billing",
+                List.of("USER"), -1);
+
+        AppException ex = assertThrows(AppException.class, () -> jwtTokenService.verifyForRefresh(expired));
+        assertEquals(ErrorCode.UNAUTHENTICATED, ex.getErrorCode());
+    }
+}
@@ -0,0 +1,155 @@
+package com.acm.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.acm.auth.dto.response.AuthenticationResponse;
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.User;
+import com.acm.auth.enums.UserStatus;
+import com.acm.auth.repository.RoleRepository;
+import com.acm.auth.repository.UserRepository;
+import com.acm.auth.service.audit.AuthEventLog;
+import com.acm.auth.service.google.GoogleIdTokenValidator;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleAuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    @Mock
+    private GoogleIdTokenValidator googleIdTokenValidator;
+
+    @Mock
+    private AuthEventLog authEventLog;
+
+    private GoogleAuthService googleAuthService;
+
+    private final Role userRole = Role.builder().code("USER").priority(1).redirectPath("/dashboard").build();
+
+    @BeforeEach
+    void setup() throws Exception {
+        googleAuthService = new GoogleAuthService(userRepository, roleRepository, jwtTokenService,
+                googleIdTokenValidator, authEventLog, Clock.systemUTC());
+        ReflectionTestUtils.setField(googleAuthService, "roleCacheSeconds", 60L);
+
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setSubject("google-1");
+        payload.setEmail("john@example.com");
+        payload.set("name", "John");
+        when(googleIdTokenValidator.verify("id-token")).thenReturn(payload);
+        when(jwtTokenService.generateToken(any(), anyString())).thenReturn("jwt");
+    }
+
+    @Test
+    void linkedUserIsResolvedWithSingleQuery() {
+        User linked = user(1L, "john", "google-1");
+        when(userRepository.findGoogleCandidatesWithRoles("google-1", "john@example.com"))
+                .thenReturn(List.of(linked));
+
+        AuthenticationResponse response = googleAuthService.authenticateWithGoogle("id-token");
+
+        assertEquals("john", response.getUsername());
+        verify(userRepository).findGoogleCandidatesWithRoles("google-1", "john@example.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void takenUsernameGetsNextFreeSuffixFromOnePrefixQuery() {
+        when(userRepository.findGoogleCandidatesWithRoles("google-1", "john@example.com")).thenReturn(List.of());
+        when(roleRepository.findByCode("USER")).thenReturn(Optional.of(userRole));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'john'"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findUsernamesStartingWith("john")).thenReturn(List.of("john", "John1", "johnny"));
+
+        AuthenticationResponse response = googleAuthService.authenticateWithGoogle("id-token");
+
+        assertEquals("john2", response.getUsername());
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void concurrentFirstLoginReusesTheWinningRow() {
+        User created = user(7L, "john", "google-1");
+        when(userRepository.findGoogleCandidatesWithRoles("google-1", "john@example.com"))
+                .thenReturn(List.of())
+                .thenReturn(List.of(created));
+        when(roleRepository.findByCode("USER")).thenReturn(Optional.of(userRole));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'google-1'"));
+
+        AuthenticationResponse response = googleAuthService.authenticateWithGoogle("id-token");
+
+        assertEquals(7L, response.getUserId());
+        ArgumentCaptor<User> inserted = ArgumentCaptor.forClass(User.class);
+        verify(userRepository, times(1)).saveAndFlush(inserted.capture());
+        assertEquals("john", inserted.getValue().getUsername());
+    }
+
+    @Test
+    void firstLoginsShareOneDefaultRoleLookup() {
+        when(userRepository.findGoogleCandidatesWithRoles("google-1", "john@example.com")).thenReturn(List.of());
+        when(roleRepository.findByCode("USER")).thenReturn(Optional.of(userRole));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        googleAuthService.authenticateWithGoogle("id-token");
+        AuthenticationResponse response = googleAuthService.authenticateWithGoogle("id-token");
+
+        assertEquals("USER", response.getRole());
+        verify(roleRepository, times(1)).findByCode("USER");
+    }
+
+    @Test
+    void wildcardsInTheEmailAreEscapedInThePrefixQuery() throws Exception {
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setSubject("google-2");
+        payload.setEmail("john_doe@example.com");
+        when(googleIdTokenValidator.verify("id-token")).thenReturn(payload);
+        when(userRepository.findGoogleCandidatesWithRoles("google-2", "john_doe@example.com")).thenReturn(List.of());
+        when(roleRepository.findByCode("USER")).thenReturn(Optional.of(userRole));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'john_doe'"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findUsernamesStartingWith("john\\_doe")).thenReturn(List.of("john_doe"));
+
+        AuthenticationResponse response = googleAuthService.authenticateWithGoogle("id-token");
+
+        assertEquals("john_doe1", response.getUsername());
+    }
+
+    private User user(Long id, String username, String googleId) {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email("john@example.com")
+                .googleId(googleId)
+                .status(UserStatus.ACTIVE)
+                .roles(Set.of(userRole))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.acm.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.acm.auth.config.CustomJwtDecoder;
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.User;
+import com.acm.auth.token.RevocationView;
+import com.acm.auth.token.TokenEncoder;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.auth.token.VerifiedToken;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenServiceTest {
+
+    private static final String SIGNER_KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3=";
+
+    private final AtomicInteger revocationLookups = new AtomicInteger();
+    private final RevocationView revocationView = jwtId -> {
+        revocationLookups.incrementAndGet();
+        return false;
+    };
+    private final TokenVerifier verifier = new TokenVerifier(SIGNER_KEY.getBytes(StandardCharsets.UTF_8),
+            Duration.ofDays(1), revocationView, Clock.systemUTC());
+    private final RequestTokenContext requestTokenContext = new RequestTokenContext();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider = new StaticListableBeanFactory(
+            Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class);
+    private final CustomJwtDecoder decoder = new CustomJwtDecoder(verifier, requestTokenContext,
+            meterRegistryProvider);
+
+    private final User user = User.builder()
+            .id(1042L)
+            .username("alice.nguyen")
+            .email("alice.nguyen@example.com")
+            .roles(new LinkedHashSet<>(List.of(
+                    Role.builder().code("ADMIN").build(),
+                    Role.builder().code("USER").build())))
+            .build();
+
+    @Test
+    void compactTokenDecodesToTheSameClaims() {
+        for (String primaryRole : List.of("ADMIN", "USER")) {
+            Jwt standard = decoder.decode(service("standard").generateToken(user, primaryRole));
+            Jwt compact = decoder.decode(service("compact").generateToken(user, primaryRole));
+
+            for (String claim : List.of("sub", "iss", "user_id", "email", "username", "role", "scope")) {
+                assertEquals(standard.getClaims().get(claim), compact.getClaims().get(claim), claim);
+            }
+            assertEquals(primaryRole, compact.getClaimAsString("role"));
+            assertEquals("ROLE_ADMIN ROLE_USER", compact.getClaimAsString("scope"));
+            assertEquals(22, compact.getId().length());
+        }
+    }
+
+    @Test
+    void compactProfileShrinksAuthorizationHeader() {
+        int standard = headerBytes(service("standard").generateToken(user, "ADMIN"));
+        int compact = headerBytes(service("compact").generateToken(user, "ADMIN"));
+        assertTrue(standard - compact >= 100, "expected at least 100 bytes saved, got " + (standard - compact));
+    }
+
+    @Test
+    void bearerTokenIsVerifiedOncePerRequest() {
+        JwtTokenService service = service("standard");
+        String token = service.generateToken(user, "ADMIN");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            Jwt jwt = decoder.decode(token);
+            VerifiedToken forSignOut = service.verifyToken(token, true);
+
+            assertEquals(jwt.getId(), forSignOut.jwtId());
+            assertEquals(1, revocationLookups.get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        service.verifyToken(token, true);
+        assertEquals(2, revocationLookups.get());
+    }
+
+    @Test
+    void signingAndVerificationAreTimedByOutcome() {
+        String token = service("standard").generateToken(user, "ADMIN");
+        decoder.decode(token);
+        assertThrows(JwtException.class, () -> decoder.decode(token + "x"));
+
+        assertEquals(1, meterRegistry.get("auth.jwt.sign").tag("type", "user").timer().count());
+        assertEquals(1, meterRegistry.get("auth.jwt.verify")
+                .tags("caller", "decoder", "outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("auth.jwt.verify")
+                .tags("caller", "decoder", "outcome", "bad_signature").timer().count());
+    }
+
+    private JwtTokenService service(String profile) {
+        JwtTokenService service = new JwtTokenService(null, verifier,
+                new TokenEncoder(SIGNER_KEY.getBytes(StandardCharsets.UTF_8)), requestTokenContext, event -> {
+                }, meterRegistryProvider);
+        ReflectionTestUtils.setField(service, "validDuration", 3600L);
+        ReflectionTestUtils.setField(service, "profile", profile);
+        return service;
+    }
+
+    private static int headerBytes(String token) {
+        return ("Authorization: Bearer " + token + "\r\n").getBytes(StandardCharsets.US_ASCII).length;
+    }
+}
@@ -24,6 +24,7 @@ import com.acm.auth.enums.UserStatus;
 import com.acm.auth.repository.UserRepository;
 import com.acm.auth.service.ResetTokenService.ResetTokenPayload;
 import com.acm.auth.service.otp.OtpService;
+import com.acm.auth.service.password.BreachedPasswordChecker;
 
 @ExtendWith(MockitoExtension.class)
 class PasswordResetServiceTest {
@@ -44,7 +45,8 @@ class PasswordResetServiceTest {
 
     @BeforeEach
     void setup() {
-        passwordResetService = new PasswordResetService(userRepository, passwordEncoder, otpService, resetTokenService);
+        passwordResetService = new PasswordResetService(userRepository, passwordEncoder, otpService, resetTokenService,
+                BreachedPasswordChecker.DISABLED);
     }
 
     @Test
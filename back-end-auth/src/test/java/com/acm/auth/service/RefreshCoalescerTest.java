@@ -0,0 +1,94 @@
+package com.acm.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.acm.auth.dto.response.AuthenticationResponse;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+
+class RefreshCoalescerTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger rotations = new AtomicInteger();
+    private RefreshCoalescer coalescer;
+
+    @BeforeEach
+    void setup() {
+        when(clock.millis()).thenReturn(1_000L);
+        coalescer = new RefreshCoalescer(clock);
+        ReflectionTestUtils.setField(coalescer, "graceSeconds", 10L);
+    }
+
+    @Test
+    void concurrentRefreshesShareOneRotation() throws Exception {
+        CountDownLatch rotating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AuthenticationResponse> leader = executor.submit(() -> coalescer.refresh("jti-1", () -> {
+                rotating.countDown();
+                await(release);
+                return response("new-token");
+            }));
+            rotating.await(5, TimeUnit.SECONDS);
+            Future<AuthenticationResponse> follower = executor.submit(
+                    () -> coalescer.refresh("jti-1", () -> response("second-token")));
+            release.countDown();
+
+            assertSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, rotations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void graceWindowReplaysResultThenExpires() {
+        AuthenticationResponse first = coalescer.refresh("jti-2", () -> response("token-a"));
+
+        when(clock.millis()).thenReturn(9_000L);
+        assertSame(first, coalescer.refresh("jti-2", () -> response("token-b")));
+
+        when(clock.millis()).thenReturn(12_000L);
+        assertEquals("token-c", coalescer.refresh("jti-2", () -> response("token-c")).getToken());
+        assertEquals(2, rotations.get());
+    }
+
+    @Test
+    void failedRotationIsNotCached() {
+        assertThrows(AppException.class, () -> coalescer.refresh("jti-3", () -> {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }));
+
+        assertEquals("token-d", coalescer.refresh("jti-3", () -> response("token-d")).getToken());
+    }
+
+    private AuthenticationResponse response(String token) {
+        rotations.incrementAndGet();
+        return AuthenticationResponse.builder().token(token).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
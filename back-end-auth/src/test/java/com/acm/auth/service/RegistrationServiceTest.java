@@ -0,0 +1,162 @@
+package com.acm.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.acm.auth.constant.UserConstraints;
+import com.acm.auth.dto.request.AuthenticationRequest;
+import com.acm.auth.dto.request.SignUpRequest;
+import com.acm.auth.dto.request.SignUpVerifyOtpRequest;
+import com.acm.auth.dto.response.AuthenticationResponse;
+import com.acm.auth.dto.response.OtpChallengeResponse;
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.User;
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.enums.UserStatus;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.RoleRepository;
+import com.acm.auth.repository.UserRepository;
+import com.acm.auth.service.audit.AuthEventLog;
+import com.acm.auth.service.otp.OtpChallenge;
+import com.acm.auth.service.otp.OtpService;
+import com.acm.auth.service.password.BreachedPasswordChecker;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private OtpService otpService;
+
+    private RegistrationService registrationService;
+
+    private final SignUpRequest request = SignUpRequest.builder()
+            .username("alice")
+            .email("alice@example.com")
+            .password("Secret123!")
+            .build();
+
+    @BeforeEach
+    void setup() {
+        registrationService = new RegistrationService(userRepository, roleRepository, passwordEncoder, otpService,
+                BreachedPasswordChecker.DISABLED);
+        when(roleRepository.findByCode("USER")).thenReturn(Optional.of(Role.builder().code("USER").build()));
+        lenient().when(passwordEncoder.encode(anyString())).thenReturn("hash");
+    }
+
+    @Test
+    void duplicateOfPendingRegistrationResendsOtp() {
+        User pending = User.builder()
+                .id(5L)
+                .username("alice")
+                .email("alice@example.com")
+                .status(UserStatus.PENDING_VERIFICATION)
+                .build();
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicate(UserConstraints.UK_EMAIL));
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(pending));
+        when(userRepository.save(pending)).thenReturn(pending);
+        when(otpService.sendOtp("alice@example.com", 5L, OtpPurpose.REGISTER, true))
+                .thenReturn(new OtpChallenge("a***e@example.com", 300));
+
+        OtpChallengeResponse response = registrationService.register(request);
+
+        assertEquals("VERIFY_OTP", response.getNextStep());
+        assertEquals("hash", pending.getPassword());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void usernameViolationIsReportedWithoutEmailLookup() {
+        User other = User.builder()
+                .username("alice")
+                .email("someone@example.com")
+                .status(UserStatus.ACTIVE)
+                .build();
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicate(UserConstraints.UK_USERNAME));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(other));
+
+        AppException ex = assertThrows(AppException.class, () -> registrationService.register(request));
+
+        assertEquals(ErrorCode.USERNAME_ALREADY_EXISTS, ex.getErrorCode());
+        verify(userRepository, never()).findByEmail(anyString());
+        verifyNoInteractions(otpService);
+    }
+
+    @Test
+    void retryAfterFailedOtpSendSignsInWithTheNewPassword() {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        RegistrationService registration = new RegistrationService(userRepository, roleRepository, bcrypt,
+                otpService, BreachedPasswordChecker.DISABLED);
+        JwtTokenService jwtTokenService = mock(JwtTokenService.class);
+        AuthenticationService authentication = new AuthenticationService(userRepository, bcrypt, jwtTokenService,
+                new RefreshCoalescer(Clock.systemUTC()), mock(AuthEventLog.class));
+
+        AtomicReference<User> stored = new AtomicReference<>();
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenAnswer(inv -> {
+                    User user = inv.getArgument(0);
+                    user.setId(5L);
+                    stored.set(user);
+                    return user;
+                })
+                .thenThrow(duplicate(UserConstraints.UK_EMAIL));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userRepository.findByEmail("alice@example.com")).thenAnswer(inv -> Optional.of(stored.get()));
+        when(userRepository.findByIdentifierWithRoles("alice")).thenAnswer(inv -> Optional.of(stored.get()));
+        when(otpService.sendOtp("alice@example.com", 5L, OtpPurpose.REGISTER, true))
+                .thenThrow(new AppException(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE))
+                .thenReturn(new OtpChallenge("a***e@example.com", 300));
+        when(jwtTokenService.generateToken(any(User.class), eq("USER"))).thenReturn("token");
+
+        assertThrows(AppException.class, () -> registration.register(request));
+        registration.register(SignUpRequest.builder()
+                .username("alice")
+                .email("alice@example.com")
+                .password("NewSecret456!")
+                .fullName("Alice Nguyen")
+                .build());
+        registration.verifyOtp(SignUpVerifyOtpRequest.builder().email("alice@example.com").otp("123456").build());
+
+        AuthenticationResponse response = authentication.authenticate(
+                AuthenticationRequest.builder().identifier("alice").password("NewSecret456!").build());
+        assertEquals("token", response.getToken());
+        assertEquals("Alice Nguyen", response.getProfile().getFullName());
+        AppException ex = assertThrows(AppException.class, () -> authentication.authenticate(
+                AuthenticationRequest.builder().identifier("alice").password("Secret123!").build()));
+        assertEquals(ErrorCode.INVALID_CREDENTIALS, ex.getErrorCode());
+    }
+
+    private static DataIntegrityViolationException duplicate(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry",
+                        new SQLException("Duplicate entry 'alice' for key 'users." + constraint + "'"),
+                        "users." + constraint));
+    }
+}
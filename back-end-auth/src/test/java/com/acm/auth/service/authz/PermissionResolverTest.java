@@ -0,0 +1,82 @@
+package com.acm.auth.service.authz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.acm.auth.entity.Role;
+import com.acm.auth.enums.Permission;
+import com.acm.auth.repository.RoleRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PermissionResolverTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private Clock clock;
+
+    private PermissionResolver resolver;
+
+    @BeforeEach
+    void setup() {
+        resolver = new PermissionResolver(roleRepository, clock);
+        ReflectionTestUtils.setField(resolver, "cacheSeconds", 60L);
+        ReflectionTestUtils.setField(resolver, "maxCachedRoleSets", 16);
+
+        when(roleRepository.findByCodeIn(List.of("AUDITOR", "USER"))).thenReturn(List.of(
+                Role.builder().code("AUDITOR")
+                        .permissions(Set.of(Permission.ROLE_READ, Permission.SERVICE_ACCOUNT_READ)).build(),
+                Role.builder().code("USER").build()));
+        when(clock.millis()).thenReturn(0L);
+    }
+
+    @Test
+    void roleSetIsCompiledOnceIntoBits() {
+        PermissionSet first = resolver.resolve("ROLE_AUDITOR ROLE_USER");
+        PermissionSet second = resolver.resolve("ROLE_AUDITOR ROLE_USER");
+
+        assertSame(first, second);
+        assertTrue(first.hasAll(PermissionSet.mask(Permission.ROLE_READ, Permission.SERVICE_ACCOUNT_READ)));
+        assertFalse(first.hasAll(PermissionSet.mask(Permission.ROLE_READ, Permission.ROLE_WRITE)));
+        assertEquals(Set.of(Permission.ROLE_READ, Permission.SERVICE_ACCOUNT_READ), first.toSet());
+        verify(roleRepository, times(1)).findByCodeIn(anyCollection());
+    }
+
+    @Test
+    void compiledSetsExpireAndCanBeInvalidated() {
+        resolver.resolve("ROLE_AUDITOR ROLE_USER");
+
+        when(clock.millis()).thenReturn(60_000L);
+        resolver.resolve("ROLE_AUDITOR ROLE_USER");
+        resolver.invalidateAll();
+        resolver.resolve("ROLE_AUDITOR ROLE_USER");
+
+        verify(roleRepository, times(3)).findByCodeIn(anyCollection());
+    }
+
+    @Test
+    void scopeWithoutRolesHasNoPermissions() {
+        assertEquals(PermissionSet.NONE, resolver.resolve(null));
+        assertEquals(PermissionSet.NONE, resolver.resolve("openid"));
+        verifyNoInteractions(roleRepository);
+    }
+}
@@ -0,0 +1,113 @@
+package com.acm.auth.service.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.acm.auth.dto.response.AvailabilityResponse;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setup() {
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        availabilityService = new AvailabilityService(userRepository, new UserIdentifierFilter(1000, 0.01),
+                meterRegistryProvider);
+        when(userRepository.streamIdentifiers()).thenReturn(Stream.of(identifiers(1L, "Alice", "Alice@Example.com")));
+        availabilityService.loadFilter();
+    }
+
+    @Test
+    void unseenValuesAreAnsweredWithoutQueries() {
+        AvailabilityResponse response = availabilityService.check("bob", "bob@example.com");
+
+        assertTrue(response.getUsernameAvailable());
+        assertTrue(response.getEmailAvailable());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void possibleCollisionIsConfirmedByIndexedQuery() {
+        when(userRepository.existsByUsername("ALICE")).thenReturn(true);
+
+        AvailabilityResponse response = availabilityService.check("ALICE", null);
+
+        assertFalse(response.getUsernameAvailable());
+        assertNull(response.getEmailAvailable());
+    }
+
+    @Test
+    void requiresUsernameOrEmail() {
+        AppException ex = assertThrows(AppException.class, () -> availabilityService.check(" ", null));
+        assertEquals(ErrorCode.IDENTIFIER_REQUIRED, ex.getErrorCode());
+    }
+
+    @Test
+    void usersOfOtherInstancesAreAddedByTheTopUp() {
+        when(userRepository.findIdentifiersAfter(1L))
+                .thenReturn(List.of(identifiers(5L, "bob", "bob@example.com")))
+                // id 3 was allocated before 5 but committed after the first top-up
+                .thenReturn(List.of(identifiers(3L, "carol", "carol@example.com"),
+                        identifiers(5L, "bob", "bob@example.com")));
+        when(userRepository.findIdentifiersAfter(5L)).thenReturn(List.of());
+
+        availabilityService.topUpFilter();
+        availabilityService.topUpFilter();
+        availabilityService.topUpFilter();
+
+        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        assertFalse(availabilityService.check("bob", null).getUsernameAvailable());
+        assertFalse(availabilityService.check("carol", null).getUsernameAvailable());
+        verify(userRepository, times(2)).findIdentifiersAfter(1L);
+        verify(userRepository).findIdentifiersAfter(5L);
+    }
+
+    private static UserRepository.Identifiers identifiers(Long id, String username, String email) {
+        return new UserRepository.Identifiers() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
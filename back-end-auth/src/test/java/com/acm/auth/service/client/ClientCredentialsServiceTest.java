@@ -0,0 +1,135 @@
+package com.acm.auth.service.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.acm.auth.dto.response.ClientCredentialsResponse;
+import com.acm.auth.entity.Role;
+import com.acm.auth.entity.ServiceAccount;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.repository.ServiceAccountRepository;
+import com.acm.auth.service.JwtTokenService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClientCredentialsServiceTest {
+
+    private static final String SECRET = "s3cr3t-value";
+
+    @Mock
+    private ServiceAccountRepository serviceAccountRepository;
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    @Mock
+    private Clock clock;
+
+    private final ClientSecretHasher hasher = new ClientSecretHasher("test-key");
+    private ClientCredentialsService service;
+
+    @BeforeEach
+    void setup() {
+        service = new ClientCredentialsService(serviceAccountRepository, hasher, jwtTokenService, clock);
+        ReflectionTestUtils.setField(service, "tokenValidSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "reissueBeforeExpirySeconds", 300L);
+
+        ServiceAccount account = ServiceAccount.builder()
+                .clientId("reporting")
+                .name("Reporting")
+                .secretHash(hasher.hash(SECRET))
+                .roles(Set.of(Role.builder().code("REPORTS").build(), Role.builder().code("USER").build()))
+                .build();
+        when(serviceAccountRepository.findByClientIdWithRoles("reporting")).thenReturn(Optional.of(account));
+        when(jwtTokenService.newJwtId()).thenReturn("jti-1", "jti-2");
+        when(jwtTokenService.generateServiceToken(anyString(), anyString(), anyCollection(), anyLong()))
+                .thenAnswer(invocation -> "token-" + invocation.getArgument(0));
+        when(clock.millis()).thenReturn(0L);
+    }
+
+    @Test
+    void tokenIsReusedUntilNearExpiry() {
+        ClientCredentialsResponse first = service.issue("client_credentials", "reporting", SECRET, "reports");
+
+        when(clock.millis()).thenReturn(3_000_000L);
+        ClientCredentialsResponse cached = service.issue("client_credentials", "reporting", SECRET, "ROLE_REPORTS");
+
+        assertEquals("token-jti-1", cached.getAccessToken());
+        assertEquals(600, cached.getExpiresIn());
+        assertEquals("REPORTS", first.getScope());
+        verify(serviceAccountRepository, times(1)).findByClientIdWithRoles("reporting");
+
+        when(clock.millis()).thenReturn(3_400_000L);
+        assertEquals("token-jti-2",
+                service.issue("client_credentials", "reporting", SECRET, "REPORTS").getAccessToken());
+    }
+
+    @Test
+    void cachedTokenRequiresTheSameSecret() {
+        service.issue("client_credentials", "reporting", SECRET, null);
+
+        AppException ex = assertThrows(AppException.class,
+                () -> service.issue("client_credentials", "reporting", "wrong", null));
+        assertEquals(ErrorCode.INVALID_CLIENT, ex.getErrorCode());
+    }
+
+    @Test
+    void tokenIssuedAcrossARotationIsNotCached() {
+        ServiceAccount rotated = ServiceAccount.builder()
+                .clientId("reporting")
+                .secretHash(hasher.hash("rotated-secret"))
+                .roles(Set.of(Role.builder().code("REPORTS").build()))
+                .build();
+        ServiceAccount beforeRotation = serviceAccountRepository.findByClientIdWithRoles("reporting").orElseThrow();
+        // The load reads the old secret, then the rotation commits and evicts before the token is cached
+        when(serviceAccountRepository.findByClientIdWithRoles("reporting")).thenAnswer(invocation -> {
+            service.evict("reporting");
+            return Optional.of(beforeRotation);
+        }).thenReturn(Optional.of(rotated));
+
+        assertEquals("token-jti-1", service.issue("client_credentials", "reporting", SECRET, null).getAccessToken());
+
+        AppException ex = assertThrows(AppException.class,
+                () -> service.issue("client_credentials", "reporting", SECRET, null));
+        assertEquals(ErrorCode.INVALID_CLIENT, ex.getErrorCode());
+        assertEquals("token-jti-2",
+                service.issue("client_credentials", "reporting", "rotated-secret", null).getAccessToken());
+    }
+
+    @Test
+    void basicAuthenticationAndScopeChecks() {
+        String basic = "Basic " + Base64.getEncoder()
+                .encodeToString(("reporting:" + SECRET).getBytes(StandardCharsets.UTF_8));
+
+        ClientCredentialsResponse response = service.issue("client_credentials", basic, null, null, null);
+        assertEquals("REPORTS USER", response.getScope());
+        verify(jwtTokenService).generateServiceToken(eq("jti-1"), eq("reporting"), eq(List.of("REPORTS", "USER")),
+                eq(3600L));
+
+        AppException ex = assertThrows(AppException.class,
+                () -> service.issue("client_credentials", basic, null, null, "ADMIN"));
+        assertEquals(ErrorCode.INVALID_SCOPE, ex.getErrorCode());
+    }
+}
@@ -0,0 +1,75 @@
+package com.acm.auth.service.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.acm.auth.entity.ServiceAccount;
+import com.acm.auth.repository.RoleRepository;
+import com.acm.auth.repository.ServiceAccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceAccountServiceTest {
+
+    @Mock
+    private ServiceAccountRepository serviceAccountRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private ClientCredentialsService clientCredentialsService;
+
+    private ServiceAccountService service;
+
+    @BeforeEach
+    void setup() {
+        service = new ServiceAccountService(serviceAccountRepository, roleRepository,
+                new ClientSecretHasher("test-key"), clientCredentialsService);
+        ServiceAccount account = ServiceAccount.builder()
+                .clientId("reporting")
+                .secretHash("old")
+                .roles(Set.of())
+                .build();
+        when(serviceAccountRepository.findByClientIdWithRoles("reporting")).thenReturn(Optional.of(account));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void rotationEvictsCachedTokensOnlyAfterCommit() {
+        when(serviceAccountRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.rotateSecret("reporting");
+        verify(clientCredentialsService, never()).evict("reporting");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(clientCredentialsService).evict("reporting");
+    }
+
+    @Test
+    void deletionEvictsCachedTokensOnlyAfterCommit() {
+        service.delete("reporting");
+        verify(clientCredentialsService, never()).evict("reporting");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(clientCredentialsService).evict("reporting");
+    }
+}
@@ -0,0 +1,124 @@
+package com.acm.auth.service.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmailCircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofSeconds(5);
+
+    private MutableClock clock;
+    private List<EmailCircuitStateChangedEvent> events;
+    private EmailCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        events = new ArrayList<>();
+        circuitBreaker = new EmailCircuitBreaker(
+                new EmailCircuitBreaker.Settings(10, 4, 50f, 75f, Duration.ofSeconds(2), Duration.ofSeconds(30), 2),
+                clock,
+                events::add);
+    }
+
+    @Test
+    void opensWhenFailureRateExceedsThreshold() {
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onError(FAST);
+        assertEquals(EmailCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onError(FAST);
+
+        assertEquals(EmailCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, events.size());
+        assertEquals(EmailCircuitBreaker.State.OPEN, events.get(0).to());
+    }
+
+    @Test
+    void opensWhenSlowCallRateExceedsThreshold() {
+        circuitBreaker.onSuccess(SLOW);
+        circuitBreaker.onSuccess(SLOW);
+        circuitBreaker.onSuccess(SLOW);
+        circuitBreaker.onSuccess(FAST);
+
+        assertEquals(EmailCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpenTrialsCloseCircuitOnSuccess() {
+        tripOpen();
+        clock.advance(Duration.ofSeconds(31));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(EmailCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        assertEquals(EmailCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void halfOpenTrialFailureReopensCircuit() {
+        tripOpen();
+        clock.advance(Duration.ofSeconds(31));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onError(FAST);
+
+        assertEquals(EmailCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onError(FAST);
+        }
+        assertEquals(EmailCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.acm.auth.service.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+import com.acm.auth.service.EmailService;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class QueuedEmailServiceTest {
+
+    @Mock
+    private EmailService delegate;
+
+    private QueuedEmailService queuedEmailService;
+
+    @BeforeEach
+    void setup() {
+        queuedEmailService = new QueuedEmailService(
+                delegate,
+                new DomainRateLimiter(1, 1),
+                () -> false,
+                new QueuedEmailService.Settings(2, 1, 3, Duration.ofSeconds(1)),
+                Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void teardown() throws InterruptedException {
+        queuedEmailService.close();
+    }
+
+    @Test
+    void resendCoalescesIntoNewestCode() {
+        queuedEmailService.sendOtpEmail("user@example.com", "111111", OtpPurpose.REGISTER, 300);
+        queuedEmailService.sendOtpEmail("User@Example.com", "222222", OtpPurpose.REGISTER, 300);
+        assertEquals(1, queuedEmailService.size());
+
+        queuedEmailService.start(Executors.defaultThreadFactory());
+
+        verify(delegate, timeout(2000)).sendOtpEmail(eq("User@Example.com"), eq("222222"), eq(OtpPurpose.REGISTER), anyLong(), any());
+        verify(delegate, never()).sendOtpEmail(anyString(), eq("111111"), any(), anyLong(), any());
+    }
+
+    @Test
+    void throttledDomainDoesNotBlockOtherDomains() {
+        queuedEmailService.sendOtpEmail("a@slow.example", "111111", OtpPurpose.REGISTER, 300);
+        queuedEmailService.sendOtpEmail("b@slow.example", "222222", OtpPurpose.REGISTER, 300);
+
+        queuedEmailService.start(Executors.defaultThreadFactory());
+        verify(delegate, timeout(2000)).sendOtpEmail(eq("a@slow.example"), eq("111111"), any(), anyLong(), any());
+
+        queuedEmailService.sendOtpEmail("c@fast.example", "333333", OtpPurpose.REGISTER, 300);
+        verify(delegate, timeout(500)).sendOtpEmail(eq("c@fast.example"), eq("333333"), any(), anyLong(), any());
+        verify(delegate, never()).sendOtpEmail(eq("b@slow.example"), anyString(), any(), anyLong(), any());
+    }
+
+    @Test
+    void deliveryRunsInTheContextOfTheQueuingRequest() throws Exception {
+        ThreadLocal<String> traceId = new ThreadLocal<>();
+        ContextRegistry.getInstance().registerThreadLocalAccessor("test.trace", traceId);
+        CompletableFuture<String> seenByDelivery = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            seenByDelivery.complete(traceId.get());
+            return null;
+        }).when(delegate).sendOtpEmail(anyString(), anyString(), any(), anyLong(), any());
+        try {
+            traceId.set("trace-1");
+            queuedEmailService.sendOtpEmail("user@example.com", "111111", OtpPurpose.REGISTER, 300);
+            traceId.remove();
+
+            queuedEmailService.start(Executors.defaultThreadFactory());
+
+            assertEquals("trace-1", seenByDelivery.get(2, TimeUnit.SECONDS));
+            assertNull(traceId.get());
+        } finally {
+            ContextRegistry.getInstance().removeThreadLocalAccessor("test.trace");
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        queuedEmailService.sendOtpEmail("a@example.com", "111111", OtpPurpose.REGISTER, 300);
+        queuedEmailService.sendOtpEmail("b@example.com", "222222", OtpPurpose.REGISTER, 300);
+
+        AppException ex = assertThrows(AppException.class,
+                () -> queuedEmailService.sendOtpEmail("c@example.com", "333333", OtpPurpose.REGISTER, 300));
+        assertEquals(ErrorCode.EMAIL_DELIVERY_UNAVAILABLE, ex.getErrorCode());
+    }
+}
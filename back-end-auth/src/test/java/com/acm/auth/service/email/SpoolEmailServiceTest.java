@@ -0,0 +1,77 @@
+package com.acm.auth.service.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.acm.auth.enums.OtpPurpose;
+import com.acm.auth.service.email.template.EmailTemplateRegistry;
+import com.acm.auth.service.email.template.OtpEmailComposer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+class SpoolEmailServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private SpoolEmailService spool(int batchSize) throws IOException {
+        OtpMessageFactory messageFactory = new OtpMessageFactory(
+                new OtpEmailComposer(new EmailTemplateRegistry("classpath:templates/email/", false), "Auth Service"),
+                "no-reply@example.com",
+                "Auth Service");
+        return new SpoolEmailService(messageFactory,
+                new SpoolEmailService.Settings(spoolDir, batchSize, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void batchedMessagesBecomeVisibleOnlyAfterFlush() throws Exception {
+        SpoolEmailService spool = spool(10);
+
+        spool.sendOtpEmail("a@example.com", "111111", OtpPurpose.REGISTER, 300, Locale.ENGLISH);
+        spool.sendOtpEmail("b@example.com", "222222", OtpPurpose.RESET_PASSWORD, 300, Locale.ENGLISH);
+        assertEquals(0, list("new").size());
+        assertEquals(2, list("tmp").size());
+
+        spool.close();
+        assertEquals(2, list("new").size());
+        assertEquals(0, list("tmp").size());
+    }
+
+    @Test
+    void fullBatchIsHandedOffAsRfc5322Message() throws Exception {
+        SpoolEmailService spool = spool(1);
+
+        spool.sendOtpEmail("user@example.com", "123456", OtpPurpose.REGISTER, 300, Locale.ENGLISH);
+
+        List<Path> delivered = list("new");
+        assertEquals(1, delivered.size());
+        try (InputStream in = Files.newInputStream(delivered.get(0))) {
+            MimeMessage message = new MimeMessage(Session.getInstance(new Properties()), in);
+            assertEquals("user@example.com", message.getAllRecipients()[0].toString());
+            assertTrue(message.getMessageID() != null);
+        }
+        spool.close();
+    }
+
+    private List<Path> list(String subdirectory) throws IOException {
+        try (Stream<Path> files = Files.list(spoolDir.resolve(subdirectory))) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.acm.auth.service.email.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmailTemplateRegistryTest {
+
+    private static final String[] VALUES = { "123456", "5", "Acme" };
+
+    @TempDir
+    Path dir;
+
+    private EmailTemplateRegistry registry;
+
+    @BeforeEach
+    void setup() throws IOException {
+        write("welcome.subject", "Welcome to {{appName}}\n");
+        write("welcome.txt", "Code {{otp}}");
+        write("welcome.html", "<p>Code {{otp}}</p>");
+        write("welcome_vi.subject", "Chào mừng đến với {{appName}}");
+        write("welcome_vi.txt", "Mã {{otp}}");
+        write("welcome_pt_BR.subject", "Bem-vindo ao {{appName}}");
+        write("welcome_pt_BR.txt", "Código {{otp}}");
+        write("notes.md", "ignored");
+        registry = new EmailTemplateRegistry(dir.toUri().toString(), false);
+    }
+
+    @Test
+    void fallsBackFromRegionToLanguageToDefault() {
+        assertEquals("Mã 123456", text(Locale.of("vi", "VN")));
+        assertEquals("Mã 123456", text(Locale.of("vi")));
+        assertEquals("Código 123456", text(Locale.of("pt", "BR")));
+        assertEquals("Code 123456", text(Locale.of("pt", "PT")));
+        assertEquals("Code 123456", text(Locale.JAPAN));
+        assertEquals("Code 123456", text(Locale.ROOT));
+    }
+
+    @Test
+    void clientLocalesShareTheTemplateTheyResolveTo() {
+        EmailTemplateRegistry.TemplateSet fallback = registry.resolve("welcome", Locale.ENGLISH);
+
+        for (String tag : new String[] { "fr-FR", "de-CH", "x-private", "en-US-u-ca-buddhist" }) {
+            assertSame(fallback, registry.resolve("welcome", Locale.forLanguageTag(tag)));
+        }
+    }
+
+    @Test
+    void subjectIsStrippedAndHtmlPartIsOptional() {
+        EmailTemplateRegistry.TemplateSet fallback = registry.resolve("welcome", Locale.ENGLISH);
+        EmailTemplateRegistry.TemplateSet vietnamese = registry.resolve("welcome", Locale.of("vi"));
+
+        assertEquals("Welcome to Acme", fallback.subject().render(VALUES));
+        assertEquals("<p>Code 123456</p>", fallback.html().render(VALUES));
+        assertNull(vietnamese.html());
+    }
+
+    @Test
+    void unknownTemplateNameFails() {
+        assertThrows(IllegalStateException.class, () -> registry.resolve("missing", Locale.ENGLISH));
+    }
+
+    @Test
+    void templateWithoutTextPartFailsToLoad() throws IOException {
+        write("broken.subject", "Subject only");
+
+        assertThrows(IllegalStateException.class,
+                () -> new EmailTemplateRegistry(dir.toUri().toString(), false));
+    }
+
+    private String text(Locale locale) {
+        return registry.resolve("welcome", locale).text().render(VALUES);
+    }
+
+    private void write(String filename, String content) throws IOException {
+        Files.writeString(dir.resolve(filename), content);
+    }
+}
@@ -0,0 +1,44 @@
+package com.acm.auth.service.email.template;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateTest {
+
+    private static final List<String> VARIABLES = EmailTemplateRegistry.VARIABLES;
+
+    @Test
+    void rendersLiteralsAndSlotsInOrder() {
+        EmailTemplate template = EmailTemplate.compile("{{appName}}: {{ otp }} ({{minutes}} min, {{otp}})", VARIABLES,
+                false);
+
+        assertEquals("Acme: 123456 (5 min, 123456)", template.render(new String[] { "123456", "5", "Acme" }));
+    }
+
+    @Test
+    void templateWithoutPlaceholdersRendersAsIs() {
+        EmailTemplate template = EmailTemplate.compile("No variables here", VARIABLES, false);
+
+        assertEquals("No variables here", template.render(new String[] { "1", "2", "3" }));
+    }
+
+    @Test
+    void htmlTemplatesEscapeValuesButNotLiterals() {
+        EmailTemplate html = EmailTemplate.compile("<b>{{appName}}</b>", VARIABLES, true);
+        EmailTemplate text = EmailTemplate.compile("<b>{{appName}}</b>", VARIABLES, false);
+        String[] values = { "1", "2", "<script>\"Tom\" & 'Jerry'</script>" };
+
+        assertEquals("<b>&lt;script&gt;&quot;Tom&quot; &amp; &#39;Jerry&#39;&lt;/script&gt;</b>", html.render(values));
+        assertEquals("<b><script>\"Tom\" & 'Jerry'</script></b>", text.render(values));
+    }
+
+    @Test
+    void rejectsUnknownVariablesAndUnterminatedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("{{password}}", VARIABLES, false));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("Code: {{otp", VARIABLES, false));
+    }
+}
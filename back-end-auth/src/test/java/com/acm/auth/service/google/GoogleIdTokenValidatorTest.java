@@ -0,0 +1,99 @@
+package com.acm.auth.service.google;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GoogleIdTokenValidatorTest {
+
+    private static final String CLIENT_ID = "client-id.apps.googleusercontent.com";
+
+    @TempDir
+    Path dir;
+
+    private RSAKey signingKey;
+    private AtomicInteger fetches;
+    private GoogleIdTokenValidator validator;
+
+    @BeforeEach
+    void setup() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        Path jwks = dir.resolve("certs.json");
+        Files.writeString(jwks, new JWKSet(signingKey.toPublicJWK()).toString());
+
+        fetches = new AtomicInteger();
+        FileGoogleSigningKeySource fileSource = new FileGoogleSigningKeySource(jwks, Duration.ofHours(1),
+                Clock.systemUTC());
+        GoogleSigningKeySource countingSource = () -> {
+            fetches.incrementAndGet();
+            return fileSource.fetch();
+        };
+        validator = new GoogleIdTokenValidator(countingSource, List.of(CLIENT_ID), Clock.systemUTC(),
+                Executors.defaultThreadFactory(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void teardown() {
+        validator.close();
+    }
+
+    @Test
+    void verifiesTokensAgainstCachedKeys() throws Exception {
+        GoogleIdToken.Payload payload = validator.verify(sign(signingKey, CLIENT_ID));
+        assertNotNull(payload);
+        assertEquals("google-sub-1", payload.getSubject());
+
+        assertNotNull(validator.verify(sign(signingKey, CLIENT_ID)));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void rejectsWrongAudienceAndUnknownSigner() throws Exception {
+        assertNull(validator.verify(sign(signingKey, "someone-else")));
+
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        assertNull(validator.verify(sign(otherKey, CLIENT_ID)));
+    }
+
+    private static String sign(RSAKey key, String audience) throws Exception {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer("https://accounts.google.com")
+                .audience(audience)
+                .subject("google-sub-1")
+                .claim("email", "user@example.com")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(600)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,73 @@
+package com.acm.auth.service.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.acm.auth.service.password.TimedPasswordEncoder;
+import com.acm.auth.service.revocation.TimedRevocationView;
+import com.acm.auth.token.RevocationView;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class AuthFlightEventTest {
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void clearFlow() {
+        AuthFlow.clear();
+    }
+
+    @Test
+    void recordsOperationsWithFlowAndOutcome() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TimedPasswordEncoder passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+        RevocationView revocationView = new TimedRevocationView("revoked-id"::equals, meterRegistry);
+        String hash = passwordEncoder.encode("correct horse");
+
+        Path file = dir.resolve("auth.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PasswordHashEvent.class);
+            recording.enable(RevocationCheckEvent.class);
+            recording.start();
+
+            AuthFlow.set("POST /api/v1/auth/sign-in");
+            passwordEncoder.matches("wrong", hash);
+            revocationView.isRevoked("revoked-id");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size());
+        RecordedEvent hashEvent = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.acm.auth.PasswordHash"))
+                .findFirst().orElseThrow();
+        assertEquals("matches", hashEvent.getString("operation"));
+        assertEquals("mismatch", hashEvent.getString("outcome"));
+        assertEquals("POST /api/v1/auth/sign-in", hashEvent.getString("flow"));
+        assertFalse(hashEvent.getDuration().isNegative());
+        RecordedEvent revocationEvent = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.acm.auth.RevocationCheck"))
+                .findFirst().orElseThrow();
+        assertEquals("revoked", revocationEvent.getString("outcome"));
+
+        assertEquals(1, meterRegistry.get("auth.password.matches").tag("outcome", "mismatch").timer().count());
+        assertTrue(meterRegistry.get("auth.password.encode").timer().count() > 0);
+    }
+}
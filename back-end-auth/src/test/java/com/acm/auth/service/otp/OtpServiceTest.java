@@ -24,6 +24,7 @@ import com.acm.auth.exception.AppException;
 import com.acm.auth.exception.ErrorCode;
 import com.acm.auth.repository.OtpVerificationRepository;
 import com.acm.auth.service.EmailService;
+import com.acm.auth.service.audit.AuthEventLog;
 
 @ExtendWith(MockitoExtension.class)
 class OtpServiceTest {
@@ -40,13 +41,17 @@ class OtpServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private AuthEventLog authEventLog;
+
     private Clock clock;
     private OtpService otpService;
 
     @BeforeEach
     void setup() {
         clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
-        otpService = new OtpService(otpVerificationRepository, otpGenerator, otpHasher, emailService, clock);
+        otpService = new OtpService(otpVerificationRepository, otpGenerator, otpHasher, emailService, clock,
+                authEventLog);
 
         ReflectionTestUtils.setField(otpService, "expiryMinutes", 5L);
         ReflectionTestUtils.setField(otpService, "maxAttempts", 5);
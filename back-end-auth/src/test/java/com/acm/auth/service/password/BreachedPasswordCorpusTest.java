@@ -0,0 +1,72 @@
+package com.acm.auth.service.password;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.acm.auth.exception.AppException;
+import com.acm.auth.exception.ErrorCode;
+
+class BreachedPasswordCorpusTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void unsortedDumpIsSortedAcrossSpilledRuns() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 999; i >= 0; i--) {
+            lines.add(sha1Hex("password" + i).toUpperCase() + ":" + i);
+        }
+        lines.add(sha1Hex("password7") + ":7");
+        Path dump = dir.resolve("dump.txt");
+        Files.write(dump, lines);
+        Path corpusFile = dir.resolve("corpus.bin");
+
+        long count = new BreachedPasswordCorpusBuilder(64, false).build(dump, corpusFile);
+
+        BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(corpusFile);
+        assertEquals(1000, count);
+        assertEquals(1000, corpus.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(corpus.contains("password" + i));
+        }
+        assertFalse(corpus.contains("password1000"));
+        assertFalse(corpus.contains("correct horse battery staple"));
+        assertEquals(List.of("corpus.bin", "dump.txt"), Files.list(dir).map(p -> p.getFileName().toString())
+                .sorted().toList());
+    }
+
+    @Test
+    void checkerRejectsPlaintextCorpusEntries() throws IOException {
+        Path dump = dir.resolve("passwords.txt");
+        Files.write(dump, List.of("123456", "qwerty", "p@ssw0rd "));
+        Path corpusFile = dir.resolve("corpus.bin");
+        new BreachedPasswordCorpusBuilder(1024, true).build(dump, corpusFile);
+
+        BreachedPasswordChecker checker = new BreachedPasswordChecker(BreachedPasswordCorpus.open(corpusFile));
+
+        AppException ex = assertThrows(AppException.class, () -> checker.requireNotBreached("qwerty"));
+        assertEquals(ErrorCode.PASSWORD_BREACHED, ex.getErrorCode());
+        assertTrue(checker.isBreached("p@ssw0rd "));
+        assertFalse(checker.isBreached("p@ssw0rd"));
+    }
+
+    private static String sha1Hex(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
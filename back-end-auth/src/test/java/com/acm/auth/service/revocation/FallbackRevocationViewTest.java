@@ -0,0 +1,41 @@
+package com.acm.auth.service.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.acm.auth.token.RevocationView;
+
+class FallbackRevocationViewTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Test
+    void failingDatabaseIsSkippedUntilRetry() {
+        AtomicInteger lookups = new AtomicInteger();
+        RevocationView database = jwtId -> {
+            lookups.incrementAndGet();
+            // What JpaTransactionManager.doBegin raises when no connection can be obtained
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                    new DataAccessResourceFailureException("Connection is not available, request timed out"));
+        };
+        RevocationView local = "revoked"::equals;
+
+        FallbackRevocationView view = new FallbackRevocationView(database, local, Duration.ofSeconds(5),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(view.isRevoked("revoked"));
+        assertFalse(view.isRevoked("active"));
+        assertEquals(1, lookups.get());
+    }
+}
@@ -0,0 +1,44 @@
+package com.acm.auth.service.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RevocationEventLogTest {
+
+    private static final Instant EXPIRY = Instant.parse("2025-01-01T13:00:00Z");
+
+    private final RevocationEventLog eventLog = new RevocationEventLog("s1", 4);
+
+    @Test
+    void resumesAfterLastSeenEvent() {
+        for (int i = 1; i <= 3; i++) {
+            eventLog.append("jti-" + i, EXPIRY);
+        }
+
+        RevocationEventLog.Replay replay = eventLog.replayAfter("s1-1");
+
+        assertFalse(replay.reset());
+        assertEquals(List.of("jti-2", "jti-3"), replay.events().stream().map(RevocationEvent::jwtId).toList());
+        assertTrue(eventLog.replayAfter("s1-3").events().isEmpty());
+        assertTrue(eventLog.replayAfter(null).events().isEmpty());
+    }
+
+    @Test
+    void overwrittenOrForeignPositionRequiresReset() {
+        for (int i = 1; i <= 6; i++) {
+            eventLog.append("jti-" + i, EXPIRY);
+        }
+
+        assertEquals(4, eventLog.replayAfter("s1-2").events().size());
+        assertTrue(eventLog.replayAfter("s1-1").reset());
+        assertTrue(eventLog.replayAfter("s0-5").reset());
+        assertTrue(eventLog.replayAfter("s1-9").reset());
+        assertTrue(eventLog.replayAfter("garbage").reset());
+    }
+}
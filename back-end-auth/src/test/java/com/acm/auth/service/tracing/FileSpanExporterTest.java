@@ -0,0 +1,61 @@
+package com.acm.auth.service.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesOneLinePerSpanWithParentLinks() throws IOException {
+        Path file = dir.resolve("traces/spans.jsonl");
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(FileSpanExporter.open(file)))
+                .build();
+        Tracer tracer = provider.get("test");
+
+        Span request = tracer.spanBuilder("http post /api/v1/auth/sign-up").startSpan();
+        try (Scope scope = request.makeCurrent()) {
+            tracer.spanBuilder("smtp send").setAttribute("outcome", "sent").startSpan().end();
+        } finally {
+            request.end();
+        }
+        provider.close();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> spans = Files.readAllLines(file).stream().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }).toList();
+        assertEquals(2, spans.size());
+        JsonNode child = spans.get(0);
+        JsonNode parent = spans.get(1);
+        assertEquals("smtp send", child.get("name").asText());
+        assertEquals("sent", child.get("attributes").get("outcome").asText());
+        assertEquals(parent.get("traceId"), child.get("traceId"));
+        assertEquals(parent.get("spanId"), child.get("parentSpanId"));
+        assertFalse(parent.has("parentSpanId"));
+    }
+}
@@ -0,0 +1,13 @@
+package com.acm.verifier;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class TokenVerifierApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(TokenVerifierApplication.class, args);
+    }
+}
@@ -0,0 +1,73 @@
+package com.acm.verifier.config;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.acm.auth.token.SnapshotRevocationView;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.verifier.handler.TokenVerificationHandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class VerifierConfig {
+
+    @Value("${jwt.signer-key}")
+    private String signerKey;
+
+    @Value("${jwt.refreshable-duration}")
+    private long refreshableDuration;
+
+    @Value("${verifier.revocation.snapshot.file:./data/revocations.snap}")
+    private String snapshotFile;
+
+    @Bean
+    public Clock systemClock() {
+        return Clock.systemUTC();
+    }
+
+    /**
+     * Starts from the last snapshot, so a restart serves its revocations
+     * before the first sync and then loads only newer rows.
+     */
+    @Bean
+    public SnapshotRevocationView revocationView(Clock clock) {
+        Path path = Path.of(snapshotFile);
+        try {
+            SnapshotRevocationView view = SnapshotRevocationView.open(path, clock);
+            log.info("Revocation snapshot mapped: {} entries up to {}", view.snapshotSize(), view.watermark());
+            return view;
+        } catch (IOException e) {
+            log.warn("Ignoring unusable revocation snapshot, loading all rows: {}", e.getMessage());
+            return SnapshotRevocationView.empty(path, clock);
+        }
+    }
+
+    @Bean
+    public TokenVerifier tokenVerifier(SnapshotRevocationView revocationView, Clock clock) {
+        return new TokenVerifier(signerKey.getBytes(StandardCharsets.UTF_8), Duration.ofSeconds(refreshableDuration),
+                revocationView, clock);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> tokenRoutes(TokenVerificationHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/v1/auth", builder -> builder
+                        .route(POST("/introspect"), handler::introspect)
+                        .route(POST("/verify"), handler::verify))
+                .build();
+    }
+}
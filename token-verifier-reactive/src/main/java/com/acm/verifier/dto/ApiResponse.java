@@ -0,0 +1,19 @@
+package com.acm.verifier.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Same envelope as the auth service, so clients can point either endpoint at
+ * this module unchanged.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(T result, String code, String message) {
+
+    public static <T> ApiResponse<T> success(T result) {
+        return new ApiResponse<>(result, null, null);
+    }
+
+    public static <T> ApiResponse<T> error(String code, String message) {
+        return new ApiResponse<>(null, code, message);
+    }
+}
@@ -0,0 +1,4 @@
+package com.acm.verifier.dto;
+
+public record TokenRequest(String token) {
+}
@@ -0,0 +1,115 @@
+package com.acm.verifier.handler;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.acm.auth.token.TokenVerificationException;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.auth.token.VerifiedToken;
+import com.acm.verifier.dto.ApiResponse;
+import com.acm.verifier.dto.IntrospectResponse;
+import com.acm.verifier.dto.TokenRequest;
+import com.acm.verifier.revocation.RevocationSync;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verification runs inline on the event loop: it is an HMAC plus an
+ * in-memory revocation lookup, so there is nothing to offload.
+ *
+ * Until the revocation view has been loaded from the database both endpoints
+ * answer 503: a token revoked before startup would otherwise verify.
+ */
+@Component
+@Slf4j
+public class TokenVerificationHandler {
+
+    private static final ApiResponse<IntrospectResponse> VALID = ApiResponse.success(new IntrospectResponse(true));
+    private static final ApiResponse<IntrospectResponse> INVALID = ApiResponse.success(new IntrospectResponse(false));
+    private static final ApiResponse<Void> UNAUTHENTICATED = ApiResponse.error("UNAUTHENTICATED",
+            "Authentication required.");
+    private static final ApiResponse<Void> REVOCATIONS_NOT_LOADED = ApiResponse.error("REVOCATIONS_NOT_LOADED",
+            "Revocation list not loaded yet, retry shortly.");
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final TokenVerifier tokenVerifier;
+    private final BooleanSupplier revocationsLoaded;
+
+    /**
+     * Without {@link RevocationSync} (sync disabled) the view is whatever the
+     * snapshot holds and requests are served from the start.
+     */
+    @Autowired
+    public TokenVerificationHandler(TokenVerifier tokenVerifier, ObjectProvider<RevocationSync> revocationSync) {
+        this(tokenVerifier, revocationsLoaded(revocationSync.getIfAvailable()));
+    }
+
+    public TokenVerificationHandler(TokenVerifier tokenVerifier, BooleanSupplier revocationsLoaded) {
+        this.tokenVerifier = tokenVerifier;
+        this.revocationsLoaded = revocationsLoaded;
+    }
+
+    public Mono<ServerResponse> introspect(ServerRequest request) {
+        if (!revocationsLoaded.getAsBoolean()) {
+            return notLoaded();
+        }
+        return request.bodyToMono(TokenRequest.class)
+                .map(body -> verify(body.token()) != null ? VALID : INVALID)
+                .defaultIfEmpty(INVALID)
+                .flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body));
+    }
+
+    /**
+     * Returns the token's claims, or 401 in the auth service's error format.
+     */
+    public Mono<ServerResponse> verify(ServerRequest request) {
+        if (!revocationsLoaded.getAsBoolean()) {
+            return notLoaded();
+        }
+        return request.bodyToMono(TokenRequest.class)
+                .mapNotNull(body -> verify(body.token()))
+                .flatMap(verified -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.success(claims(verified))))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(UNAUTHENTICATED)));
+    }
+
+    private static Mono<ServerResponse> notLoaded() {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(REVOCATIONS_NOT_LOADED);
+    }
+
+    private static BooleanSupplier revocationsLoaded(RevocationSync revocationSync) {
+        return revocationSync != null ? revocationSync::isLoaded : () -> true;
+    }
+
+    private VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return tokenVerifier.verify(token);
+        } catch (TokenVerificationException e) {
+            log.debug("Token rejected: {}", e.getReason());
+            return null;
+        }
+    }
+
+    private static Map<String, Object> claims(VerifiedToken verified) {
+        // Dates as epoch seconds, as they appear in the token itself
+        return verified.claims().toJSONObject();
+    }
+}
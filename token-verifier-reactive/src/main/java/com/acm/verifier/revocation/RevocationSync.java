@@ -0,0 +1,113 @@
+package com.acm.verifier.revocation;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.acm.auth.token.SnapshotRevocationView;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mirrors the auth service's {@code invalidated_tokens} table into the
+ * revocation view and keeps its on-disk snapshot current.
+ *
+ * Runs on the scheduler thread, never on the event loop. Only rows created
+ * since the previous sync (or since the snapshot, after a restart) are read.
+ * A logout becomes visible here within one poll interval; until then the
+ * token still introspects as valid, as it would for any cached verifier.
+ * While the database is down the snapshot and the rows already loaded keep
+ * answering.
+ *
+ * The first sync runs during startup, before the server accepts connections.
+ * If it fails, {@link #isLoaded()} stays false and requests are refused until
+ * a scheduled retry succeeds: the snapshot alone may be missing any number of
+ * recent logouts, so serving from it would fail open.
+ */
+@Component
+@ConditionalOnProperty(name = "verifier.revocation.sync.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationSync implements SmartInitializingSingleton {
+
+    private static final String ACTIVE_REVOCATIONS =
+            "SELECT id, expiry_time FROM invalidated_tokens WHERE expiry_time > ?";
+    private static final String REVOCATIONS_SINCE =
+            "SELECT id, expiry_time FROM invalidated_tokens WHERE expiry_time > ? AND created_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnapshotRevocationView revocationView;
+    private final Clock clock;
+
+    private volatile boolean loaded;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        sync();
+        if (!loaded) {
+            log.warn("Initial revocation sync failed; refusing verification requests until it succeeds");
+        }
+    }
+
+    /**
+     * Whether a sync has completed since startup.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Scheduled(initialDelayString = "${verifier.revocation.sync.interval-ms:5000}",
+            fixedDelayString = "${verifier.revocation.sync.interval-ms:5000}")
+    public void sync() {
+        Instant now = clock.instant();
+        Instant replayFrom = revocationView.replayFrom();
+        try {
+            Map<String, Instant> rows = new HashMap<>();
+            if (replayFrom == null) {
+                jdbcTemplate.query(ACTIVE_REVOCATIONS,
+                        rs -> {
+                            rows.put(rs.getString(1), rs.getTimestamp(2).toInstant());
+                        },
+                        Timestamp.from(now));
+            } else {
+                jdbcTemplate.query(REVOCATIONS_SINCE,
+                        rs -> {
+                            rows.put(rs.getString(1), rs.getTimestamp(2).toInstant());
+                        },
+                        Timestamp.from(now), Timestamp.from(replayFrom));
+            }
+            revocationView.apply(rows, now);
+            revocationView.pruneExpired(now);
+            loaded = true;
+            log.debug("Revocation view synced: {} rows since {}", rows.size(), replayFrom);
+        } catch (RuntimeException e) {
+            // Keep serving the snapshot and the rows loaded so far
+            log.warn("Revocation sync failed, keeping {} snapshot and {} recent entries: {}",
+                    revocationView.snapshotSize(), revocationView.recentSize(), e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${verifier.revocation.snapshot.interval-ms:60000}",
+            fixedDelayString = "${verifier.revocation.snapshot.interval-ms:60000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        try {
+            revocationView.writeSnapshot();
+            log.debug("Revocation snapshot written: {} entries up to {}", revocationView.snapshotSize(),
+                    revocationView.watermark());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Revocation snapshot write failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.acm.verifier.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.acm.auth.token.InMemoryRevocationView;
+import com.acm.auth.token.TokenVerifier;
+import com.acm.verifier.config.VerifierConfig;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+class TokenVerificationHandlerTest {
+
+    private static final byte[] KEY = "z0B8QFwXP+Lv6F8X9Q3mVHrS5uK2jN4wR7bT0dGhJc8pYaM1kIzEoDcA2xWnUf3="
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final InMemoryRevocationView revocations = new InMemoryRevocationView();
+    private boolean revocationsLoaded = true;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        TokenVerifier verifier = new TokenVerifier(KEY, Duration.ofDays(1), revocations, Clock.systemUTC());
+        client = WebTestClient
+                .bindToRouterFunction(new VerifierConfig().tokenRoutes(new TokenVerificationHandler(verifier,
+                        () -> revocationsLoaded)))
+                .build();
+    }
+
+    @Test
+    void introspectReflectsRevocationView() throws Exception {
+        String token = sign("jti-1");
+
+        introspect(token).jsonPath("$.result.valid").isEqualTo(true);
+
+        revocations.revoke("jti-1", Instant.now().plusSeconds(3600));
+        introspect(token).jsonPath("$.result.valid").isEqualTo(false);
+    }
+
+    @Test
+    void verifyReturnsClaimsOrUnauthenticated() throws Exception {
+        client.post().uri("/api/v1/auth/verify")
+                .bodyValue(Map.of("token", sign("jti-2")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result.username").isEqualTo("alice")
+                .jsonPath("$.result.jti").isEqualTo("jti-2");
+
+        client.post().uri("/api/v1/auth/verify")
+                .bodyValue(Map.of("token", "garbage"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("UNAUTHENTICATED");
+    }
+
+    @Test
+    void refusesRequestsUntilRevocationsAreLoaded() throws Exception {
+        revocationsLoaded = false;
+        String token = sign("jti-3");
+
+        for (String path : new String[] { "/api/v1/auth/introspect", "/api/v1/auth/verify" }) {
+            client.post().uri(path)
+                    .bodyValue(Map.of("token", token))
+                    .exchange()
+                    .expectStatus().isEqualTo(503)
+                    .expectHeader().valueEquals("Retry-After", "5")
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo("REVOCATIONS_NOT_LOADED");
+        }
+
+        revocationsLoaded = true;
+        introspect(token).jsonPath("$.result.valid").isEqualTo(true);
+    }
+
+    private WebTestClient.BodyContentSpec introspect(String token) {
+        return client.post().uri("/api/v1/auth/introspect")
+                .bodyValue(Map.of("token", token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+
+    private static String sign(String jwtId) throws Exception {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("alice@example.com")
+                .issuer("auth-service")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .jwtID(jwtId)
+                .claim("username", "alice")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        jwt.sign(new MACSigner(KEY));
+        return jwt.serialize();
+    }
+}
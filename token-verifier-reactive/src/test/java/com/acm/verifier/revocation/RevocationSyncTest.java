@@ -0,0 +1,57 @@
+package com.acm.verifier.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.acm.auth.token.SnapshotRevocationView;
+
+class RevocationSyncTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path dir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void startupLoadMarksTheViewLoaded() {
+        RevocationSync sync = new RevocationSync(jdbcTemplate,
+                SnapshotRevocationView.empty(dir.resolve("revocations.snap"), CLOCK), CLOCK);
+
+        sync.afterSingletonsInstantiated();
+
+        assertTrue(sync.isLoaded());
+    }
+
+    @Test
+    void staysUnloadedUntilASyncSucceeds() {
+        RevocationSync sync = new RevocationSync(jdbcTemplate,
+                SnapshotRevocationView.empty(dir.resolve("revocations.snap"), CLOCK), CLOCK);
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        sync.afterSingletonsInstantiated();
+        assertFalse(sync.isLoaded());
+
+        doNothing().when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        sync.sync();
+        assertTrue(sync.isLoaded());
+    }
+}